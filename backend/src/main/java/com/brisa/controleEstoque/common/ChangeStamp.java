@@ -0,0 +1,11 @@
+package com.brisa.controleEstoque.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate validator of a list: how many rows match its filters and when
+ * the most recently changed of them was written. An insert or update moves
+ * {@code lastModified}, a delete moves {@code count}.
+ */
+public record ChangeStamp(long count, LocalDateTime lastModified) {
+}
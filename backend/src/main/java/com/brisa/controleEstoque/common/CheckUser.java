@@ -1,11 +1,23 @@
 package com.brisa.controleEstoque.common;
 
+import java.util.UUID;
+
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import com.brisa.controleEstoque.entity.User;
+import com.brisa.controleEstoque.security.AuthenticatedUser;
 
 public class CheckUser {
-    public static User getAuthenticatedUser() {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    public static AuthenticatedUser getAuthenticatedUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    /** Id of the logged-in user, or null for anonymous requests. */
+    public static UUID getAuthenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
     }
 }
@@ -0,0 +1,20 @@
+package com.brisa.controleEstoque.common;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class Constraints {
+
+    /**
+     * Whether a foreign key rejected the write: the referenced row is missing
+     * on insert/update, or the deleted row is still referenced.
+     */
+    public static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase();
+        // PostgreSQL and H2 wording respectively
+        return lower.contains("foreign key constraint") || lower.contains("referential integrity");
+    }
+}
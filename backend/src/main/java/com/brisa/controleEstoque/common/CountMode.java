@@ -0,0 +1,11 @@
+package com.brisa.controleEstoque.common;
+
+/** How a paged list works out its total, chosen per request. */
+public enum CountMode {
+    /** Exact count with the same filters, cached briefly per filter. */
+    EXACT,
+    /** Planner row estimate when unfiltered, exact otherwise. */
+    ESTIMATE,
+    /** No count: a slice that only tells whether a next page exists. */
+    NONE
+}
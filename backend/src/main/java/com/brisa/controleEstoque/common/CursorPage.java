@@ -0,0 +1,26 @@
+package com.brisa.controleEstoque.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset (cursor) listing. There is deliberately no total
+ * count: the next page is requested with {@link #getNextCursor()}.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        List<R> mapped = content.stream().map(converter).collect(Collectors.toList());
+        return new CursorPage<>(mapped, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,88 @@
+package com.brisa.controleEstoque.common;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+
+/**
+ * Validators for conditional requests. Entity tags are strong and lead with
+ * the entity's {@code @Version}; representations that embed more than the row
+ * (stock totals, list stamps) append those values after a dot.
+ */
+public class ETags {
+
+    public static String of(long version, long... parts) {
+        StringBuilder tag = new StringBuilder("\"").append(version);
+        for (long part : parts) {
+            tag.append('.').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    /** Tag of a list from its aggregate stamp and the latest change of anything else it embeds. */
+    public static String of(ChangeStamp stamp, LocalDateTime... embedded) {
+        return of(stamp.count(), micros(stamp.lastModified()), micros(latest(embedded)));
+    }
+
+    /** Epoch millis of the latest of the timestamps, or -1 when all are null. */
+    public static long lastModified(LocalDateTime... times) {
+        LocalDateTime latest = latest(times);
+        return latest == null ? -1 : latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** Last-Modified of a list: the latest change of its rows or of anything it embeds. */
+    public static long lastModified(ChangeStamp stamp, LocalDateTime... embedded) {
+        return lastModified(stamp.lastModified(), latest(embedded));
+    }
+
+    /**
+     * Version an If-Match header requires, or null when the header is absent
+     * or {@code *}. Only the leading version is compared, so a tag taken from
+     * a representation with stock totals still matches after stock moves.
+     * Weak tags never match under the strong comparison If-Match uses, so
+     * they fail the precondition like any other stale tag.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.indexOf(',') >= 0) {
+            throw new ResourceBadRequestException("If-Match must carry a single entity tag");
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match " + tag + " does not match the current version");
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int dot = opaque.indexOf('.');
+        try {
+            return Long.parseLong(dot >= 0 ? opaque.substring(0, dot) : opaque);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + tag + " does not match the current version");
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime... times) {
+        LocalDateTime latest = null;
+        for (LocalDateTime time : times) {
+            if (time != null && (latest == null || time.isAfter(latest))) {
+                latest = time;
+            }
+        }
+        return latest;
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+}
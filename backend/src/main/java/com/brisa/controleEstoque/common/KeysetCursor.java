@@ -0,0 +1,100 @@
+package com.brisa.controleEstoque.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key, its
+ * direction and the last row's sort value plus {@code id} tie-breaker.
+ * A null sort value is encoded as its own marker, never as the text "null".
+ */
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "N";
+    private static final String VALUE_PREFIX = "V";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final UUID lastId;
+    private final String lastValue;
+
+    public KeysetCursor(String sortField, Sort.Direction direction, UUID lastId, String lastValue) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+
+    /** The last row's sort value parsed as {@code type}, or {@code null} when the row had none. */
+    public Comparable<?> lastValueAs(Class<?> type) {
+        if (lastValue == null) {
+            return null;
+        }
+        try {
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(lastValue);
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(lastValue);
+            }
+            return lastValue;
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw malformed();
+        }
+    }
+
+    public String encode() {
+        // The value goes last so it may contain the separator itself
+        String value = lastValue == null ? NULL_VALUE : VALUE_PREFIX + lastValue;
+        String raw = String.join(SEPARATOR, sortField, direction.name(), lastId.toString(), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4 || parts[0].isEmpty()) {
+                throw malformed();
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), UUID.fromString(parts[2]),
+                    decodeValue(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw malformed();
+        }
+    }
+
+    private static String decodeValue(String value) {
+        if (value.equals(NULL_VALUE)) {
+            return null;
+        }
+        if (!value.startsWith(VALUE_PREFIX)) {
+            throw malformed();
+        }
+        return value.substring(VALUE_PREFIX.length());
+    }
+
+    private static ResourceBadRequestException malformed() {
+        return new ResourceBadRequestException("Malformed pagination cursor");
+    }
+}
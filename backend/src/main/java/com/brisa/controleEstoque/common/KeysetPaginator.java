@@ -0,0 +1,75 @@
+package com.brisa.controleEstoque.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.repository.specification.KeysetSpecification;
+
+/**
+ * Runs keyset (seek) pagination on top of any entity's filter specification.
+ * Fetches {@code size + 1} rows to learn whether a next page exists and never
+ * issues a count query, so the cost of page N does not grow with N.
+ */
+public class KeysetPaginator {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static <T> CursorPage<T> fetch(
+            JpaSpecificationExecutor<T> repository,
+            Specification<T> filter,
+            String cursor,
+            String sortField,
+            Sort.Direction direction,
+            int size,
+            Map<String, Class<?>> sortableFields) {
+
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ResourceBadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Specification<T> spec = Specification.where(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            // A continuation token always carries the ordering of the first page
+            KeysetCursor decoded = KeysetCursor.decode(cursor);
+            sortField = decoded.getSortField();
+            direction = decoded.getDirection();
+            Class<?> type = requireSortable(sortableFields, sortField);
+            spec = spec.and(KeysetSpecification.after(sortField, direction, decoded.lastValueAs(type), decoded.getLastId()));
+        } else {
+            requireSortable(sortableFields, sortField);
+        }
+
+        // Applied last so it replaces any relevance ordering the filter asked for
+        spec = spec.and(KeysetSpecification.orderedBy(sortField, direction));
+        List<T> rows = repository.<T, List<T>>findBy(spec, q -> q.limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorFor(content.get(content.size() - 1), sortField, direction) : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    private static Class<?> requireSortable(Map<String, Class<?>> sortableFields, String sortField) {
+        Class<?> type = sortableFields.get(sortField);
+        if (type == null) {
+            throw new ResourceBadRequestException("Cursor pagination cannot sort by '" + sortField
+                    + "'. Allowed: " + String.join(", ", sortableFields.keySet()));
+        }
+        return type;
+    }
+
+    private static String cursorFor(Object row, String sortField, Sort.Direction direction) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        UUID id = (UUID) wrapper.getPropertyValue("id");
+        Object value = wrapper.getPropertyValue(sortField);
+        return new KeysetCursor(sortField, direction, id, value == null ? null : value.toString()).encode();
+    }
+}
@@ -0,0 +1,78 @@
+package com.brisa.controleEstoque.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.brisa.controleEstoque.config.validation.OnUpdate;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+
+/**
+ * Reads JSON Merge Patch (RFC 7396) bodies onto request DTOs. Only the
+ * members present in the patch are validated, against the {@link Default}
+ * and {@link OnUpdate} constraints; a null member clears the field unless the
+ * field is required.
+ */
+@Component
+public class MergePatch {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public MergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * @param patchable DTO properties a patch may carry
+     * @param required patchable properties that cannot be cleared
+     */
+    public <D> Fields<D> read(JsonNode body, Class<D> dtoClass, Set<String> patchable, Set<String> required) {
+        if (body == null || !body.isObject()) {
+            throw new ResourceBadRequestException("A merge patch must be a JSON object");
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (Iterator<String> it = body.fieldNames(); it.hasNext();) {
+            String name = it.next();
+            if (!patchable.contains(name)) {
+                throw new ResourceBadRequestException("Field '" + name + "' cannot be patched");
+            }
+            if (required.contains(name) && body.get(name).isNull()) {
+                throw new ResourceBadRequestException("Field '" + name + "' is required and cannot be removed");
+            }
+            names.add(name);
+        }
+
+        D values;
+        try {
+            values = objectMapper.treeToValue(body, dtoClass);
+        } catch (JsonProcessingException e) {
+            throw new ResourceBadRequestException("Invalid merge patch: " + e.getOriginalMessage());
+        }
+        String violations = names.stream()
+                .flatMap(name -> validator.validateProperty(values, name, Default.class, OnUpdate.class).stream())
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            throw new ResourceBadRequestException(violations);
+        }
+        return new Fields<>(values, names);
+    }
+
+    /** The patch read onto the DTO and the names of the members it carried. */
+    public record Fields<D>(D values, Set<String> names) {
+        public boolean has(String name) {
+            return names.contains(name);
+        }
+    }
+}
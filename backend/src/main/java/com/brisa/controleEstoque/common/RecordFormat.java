@@ -0,0 +1,31 @@
+package com.brisa.controleEstoque.common;
+
+import org.springframework.http.MediaType;
+
+/** Line-oriented body formats accepted by the bulk import and produced by the exports. */
+public enum RecordFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    RecordFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static RecordFormat fromContentType(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(NDJSON.contentType))
+                ? NDJSON
+                : CSV;
+    }
+}
@@ -0,0 +1,37 @@
+package com.brisa.controleEstoque.common;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs as defined by RFC 9562, version 7: a 48-bit Unix
+ * millisecond timestamp, then a 12-bit counter that keeps ids generated in
+ * the same millisecond increasing, then 62 random bits. New keys land at the
+ * right edge of a B-tree index instead of on random pages.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        long now = System.currentTimeMillis();
+        // Past the counter's 4096 ids per millisecond, or when the clock steps back,
+        // the timestamp is borrowed from the future rather than breaking the order
+        long packed = LAST.updateAndGet(last -> (last >>> 12) < now ? now << 12 : last + 1);
+        long mostSigBits = ((packed >>> 12) << 16) | 0x7000L | (packed & 0xFFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /** @return the creation time in epoch milliseconds, or -1 if {@code uuid} is not version 7 */
+    public static long timestamp(UUID uuid) {
+        return uuid.version() == 7 ? uuid.getMostSignificantBits() >>> 16 : -1;
+    }
+}
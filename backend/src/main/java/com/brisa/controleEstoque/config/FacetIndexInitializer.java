@@ -0,0 +1,26 @@
+package com.brisa.controleEstoque.config;
+
+import com.brisa.controleEstoque.facet.FacetIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the facet bitmaps from the item attribute values on startup. From
+ * then on the index is kept current by the item writes themselves.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FacetIndexInitializer implements CommandLineRunner {
+
+    private final FacetIndex facetIndex;
+
+    @Override
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        facetIndex.rebuild();
+        log.info("Facet index built in {} ms", System.currentTimeMillis() - start);
+    }
+}
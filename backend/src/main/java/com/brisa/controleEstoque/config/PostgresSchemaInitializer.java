@@ -0,0 +1,122 @@
+package com.brisa.controleEstoque.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.brisa.controleEstoque.service.AttributeCatalog;
+import com.brisa.controleEstoque.service.StockLevelService;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Creates the PostgreSQL-only objects Hibernate's ddl-auto cannot express
+ * (extensions, SQL functions, expression indexes). Does nothing on other databases.
+ * <p>
+ * Indexes are built with CREATE INDEX CONCURRENTLY so a first start against a
+ * populated database does not block writes to the table while it builds. That
+ * statement cannot run inside a transaction block; this runner is not
+ * transactional and JdbcTemplate runs each statement in auto-commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresSchemaInitializer implements CommandLineRunner {
+
+    private static final List<String> TRIGRAM_SEARCH_DDL = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE EXTENSION IF NOT EXISTS unaccent",
+            // unaccent() is only STABLE; pinning the dictionary makes the wrapper safe to index
+            "CREATE OR REPLACE FUNCTION " + TextSearch.SEARCH_FUNCTION + "(text) RETURNS text AS "
+                    + "$$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, $1)) $$ "
+                    + "LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT");
+
+    private static final List<IndexDefinition> TRIGRAM_INDEXES = List.of(
+            trigramIndex("idx_product_name_trgm", "product", "name"),
+            trigramIndex("idx_type_name_trgm", "type", "name"),
+            trigramIndex("idx_location_name_trgm", "location", "name"),
+            trigramIndex("idx_lot_lot_number_trgm", "lot", "lot_number"),
+            trigramIndex("idx_item_serial_number_trgm", "item", "serial_number"));
+
+    // NULL options are distinct under a plain unique constraint; coalescing makes the identity total
+    private static final IndexDefinition ATTRIBUTE_IDENTITY_INDEX = new IndexDefinition(
+            "uk_attribute_identity", true, "attribute (name, data_type, (COALESCE(options, '')))");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttributeCatalog attributeCatalog;
+    private final StockLevelService stockLevelService;
+    private final TextSearch textSearch;
+
+    @Override
+    public void run(String... args) {
+        if (!isPostgres()) {
+            log.info("Non-PostgreSQL database detected, using plain LIKE search");
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("PostgreSQL schema objects must be created outside a transaction");
+        }
+        // stock_level's primary key is the conflict target, so nothing needs creating first
+        stockLevelService.useUpsert(true);
+        if (textSearch.isTrigramEnabled()) {
+            try {
+                TRIGRAM_SEARCH_DDL.forEach(jdbcTemplate::execute);
+                // The function is all the queries need; the indexes only make them fast
+                textSearch.markReady();
+                TRIGRAM_INDEXES.forEach(this::createConcurrently);
+                log.info("Trigram search indexes ready");
+            } catch (Exception e) {
+                log.warn("Could not set up trigram search indexes, search may scan until they exist", e);
+            }
+        }
+        try {
+            createConcurrently(ATTRIBUTE_IDENTITY_INDEX);
+            attributeCatalog.useUpsert(true);
+        } catch (Exception e) {
+            log.warn("Could not create the attribute identity index (duplicate attributes?), attribute upsert disabled", e);
+        }
+    }
+
+    /**
+     * A concurrent build that fails (or is interrupted by a restart) leaves an
+     * INVALID index behind, which IF NOT EXISTS would then keep forever; such an
+     * index is dropped and built again.
+     */
+    private void createConcurrently(IndexDefinition index) {
+        Boolean valid = jdbcTemplate.query(
+                "SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass(?)",
+                rs -> rs.next() ? rs.getBoolean(1) : null, index.name());
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            log.warn("Index {} is invalid after an interrupted build, rebuilding it", index.name());
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        jdbcTemplate.execute("CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX CONCURRENTLY IF NOT EXISTS "
+                + index.name() + " ON " + index.target());
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (Connection connection) -> {
+                    DatabaseMetaData metaData = connection.getMetaData();
+                    return metaData.getDatabaseProductName();
+                });
+        return product != null && product.toLowerCase().contains("postgresql");
+    }
+
+    private static IndexDefinition trigramIndex(String name, String table, String column) {
+        return new IndexDefinition(name, false, "\"" + table + "\" USING gin ("
+                + TextSearch.SEARCH_FUNCTION + "(" + column + ") gin_trgm_ops)");
+    }
+
+    private record IndexDefinition(String name, boolean unique, String target) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.brisa.controleEstoque.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Caffeine-backed JCache manager for Hibernate's second-level and query
+ * caches. Each region under {@code app.cache.regions} gets its own size bound
+ * and time to live; hit, miss and put counts per region are published with
+ * the other Hibernate statistics as {@code hibernate.*} metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.Regions.class)
+public class SecondLevelCacheConfig {
+
+    // Must outlive every cached query result, so it is never bounded or expired
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @ConfigurationProperties("app.cache")
+    public record Regions(Map<String, Region> regions) {
+    }
+
+    public record Region(long maxSize, Duration ttl) {
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Regions properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        if (properties.regions() != null) {
+            properties.regions().forEach((name, region) -> {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+                configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+                configuration.setStatisticsEnabled(true);
+                cacheManager.createCache(name, configuration);
+            });
+        }
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
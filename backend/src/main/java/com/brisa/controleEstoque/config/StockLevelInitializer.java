@@ -0,0 +1,72 @@
+package com.brisa.controleEstoque.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the missing stock_level rows for lots and locations that predate the
+ * aggregates, seeding on-hand from the movement ledger. Every lot and location
+ * gets its row when it is created, so a scope that already has rows was
+ * backfilled on an earlier start and is skipped without scanning its table.
+ * Product rows and the per lot and location balances are seeded the same way
+ * when their tables are empty: products from their lots' rows, which carry the
+ * reservations, and balances from the ledger.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLevelInitializer implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        int created = backfill("LOT", "lot", "lot_id")
+                + backfill("LOCATION", "location", "location_id")
+                + backfillProducts();
+        if (created > 0) {
+            log.info("Created {} missing stock level rows", created);
+        }
+        int balances = backfillBalances();
+        if (balances > 0) {
+            log.info("Created {} missing lot and location balances", balances);
+        }
+    }
+
+    // Runs after the lot backfill, so every lot row it sums exists
+    private int backfillProducts() {
+        if (!jdbcTemplate.queryForList("SELECT 1 FROM stock_level WHERE scope = 'PRODUCT' FETCH FIRST 1 ROWS ONLY").isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO stock_level (scope, ref_id, on_hand, reserved, updated_at) "
+                + "SELECT 'PRODUCT', l.product_id, SUM(s.on_hand), SUM(s.reserved), CURRENT_TIMESTAMP "
+                + "FROM stock_level s JOIN lot l ON l.id = s.ref_id "
+                + "WHERE s.scope = 'LOT' GROUP BY l.product_id");
+    }
+
+    private int backfillBalances() {
+        if (!jdbcTemplate.queryForList("SELECT 1 FROM lot_location_stock FETCH FIRST 1 ROWS ONLY").isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO lot_location_stock (lot_id, location_id, on_hand, updated_at) "
+                + "SELECT m.lot_id, m.location_id, SUM(m.quantity), CURRENT_TIMESTAMP "
+                + "FROM inventory_movement m GROUP BY m.lot_id, m.location_id");
+    }
+
+    private int backfill(String scope, String table, String movementColumn) {
+        if (!jdbcTemplate.queryForList("SELECT 1 FROM stock_level WHERE scope = ? FETCH FIRST 1 ROWS ONLY", scope).isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO stock_level (scope, ref_id, on_hand, reserved, updated_at) "
+                + "SELECT ?, t.id, COALESCE((SELECT SUM(m.quantity) FROM inventory_movement m WHERE m." + movementColumn + " = t.id), 0), 0, CURRENT_TIMESTAMP "
+                + "FROM " + table + " t "
+                + "WHERE NOT EXISTS (SELECT 1 FROM stock_level s WHERE s.scope = ? AND s.ref_id = t.id)",
+                scope, scope);
+    }
+}
@@ -0,0 +1,66 @@
+package com.brisa.controleEstoque.controller;
+
+import com.brisa.controleEstoque.dto.requests.RequestMovementDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseMovementDTO;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import com.brisa.controleEstoque.mapper.InventoryMovementMapper;
+import com.brisa.controleEstoque.service.InventoryMovementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@Validated
+@RequestMapping("/api/movements")
+@Tag(name = "Movements", description = "Append-only ledger of stock movements")
+public class InventoryMovementController {
+
+    private final InventoryMovementService service;
+    private final InventoryMovementMapper mapper;
+
+    public InventoryMovementController(InventoryMovementService service, InventoryMovementMapper mapper) {
+        this.service = service;
+        this.mapper = mapper;
+    }
+
+    @PostMapping
+    @Operation(summary = "Record a movement", description = "Appends a receipt, issue, transfer or adjustment to the ledger. A transfer produces two entries")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Movement recorded successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Lot or location not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<ResponseMovementDTO>> record(@RequestBody @Valid RequestMovementDTO dto) {
+        List<InventoryMovement> movements = service.record(dto);
+        return ResponseEntity.status(201).body(movements.stream().map(mapper::toDto).toList());
+    }
+
+    @GetMapping
+    @Operation(summary = "Get movements", description = "Lists ledger entries newest first. Pass the last id received as beforeId to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<ResponseMovementDTO>> findAll(
+            @Parameter(description = "Filter by product ID") @RequestParam(required = false) UUID productId,
+            @Parameter(description = "Filter by lot ID") @RequestParam(required = false) UUID lotId,
+            @Parameter(description = "Filter by location ID") @RequestParam(required = false) UUID locationId,
+            @Parameter(description = "Only entries with an id lower than this") @RequestParam(required = false) Long beforeId,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        List<InventoryMovement> movements = service.findAll(productId, lotId, locationId, beforeId, size);
+        return ResponseEntity.ok(movements.stream().map(mapper::toDto).toList());
+    }
+}
@@ -0,0 +1,108 @@
+package com.brisa.controleEstoque.controller;
+
+import com.brisa.controleEstoque.config.validation.OnCreate;
+import com.brisa.controleEstoque.config.validation.OnUpdate;
+import com.brisa.controleEstoque.dto.requests.RequestItemDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseItemDTO;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.enums.ItemStatus;
+import com.brisa.controleEstoque.mapper.ItemMapper;
+import com.brisa.controleEstoque.service.ItemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/items")
+@Tag(name = "Items", description = "APIs for managing serialized items and their attribute values")
+public class ItemController {
+    private final ItemService itemService;
+    private final ItemMapper itemMapper;
+
+    public ItemController(ItemService itemService, ItemMapper itemMapper) {
+        this.itemService = itemService;
+        this.itemMapper = itemMapper;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new item", description = "Creates an item of a lot. Attribute values are checked against the product type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Item created successfully", content = @Content(schema = @Schema(implementation = ResponseItemDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or attribute values"),
+            @ApiResponse(responseCode = "404", description = "Lot or location not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseItemDTO> create(@RequestBody @Validated(OnCreate.class) RequestItemDTO dto) {
+        Item item = itemService.create(dto);
+        return ResponseEntity.status(201).body(itemMapper.toDto(item));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get an item by ID", description = "Retrieves a specific item with its attribute values")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item found", content = @Content(schema = @Schema(implementation = ResponseItemDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseItemDTO> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(itemMapper.toDto(itemService.findById(id)));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all items", description = "Retrieves a paginated list of items, optionally filtered by attribute values")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid attribute filter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Page<ResponseItemDTO>> findAll(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID productId,
+            @RequestParam(required = false) UUID lotId,
+            @RequestParam(required = false) UUID locationId,
+            @RequestParam(required = false) ItemStatus status,
+            @Parameter(description = "Attribute filter <attributeId>:<eq|gt|gte|lt|lte|between>:<value>, "
+                    + "between takes <low>,<high>. Repeat to combine filters")
+            @RequestParam(name = "attr", required = false) List<String> attributeFilters,
+            Pageable pageable) {
+        Page<Item> items = itemService.findAll(search, productId, lotId, locationId, status, attributeFilters, pageable);
+        return ResponseEntity.ok(items.map(itemMapper::toDto));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update an item", description = "Updates an item. Only the listed attribute values are replaced")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item updated successfully", content = @Content(schema = @Schema(implementation = ResponseItemDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or attribute values"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseItemDTO> update(
+            @PathVariable UUID id,
+            @RequestBody @Validated(OnUpdate.class) RequestItemDTO dto) {
+        return ResponseEntity.ok(itemMapper.toDto(itemService.update(id, dto)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete an item", description = "Removes an item and its attribute values")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Item deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Void> delete(@PathVariable UUID id) {
+        itemService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
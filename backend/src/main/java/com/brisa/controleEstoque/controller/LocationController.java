@@ -1,27 +1,39 @@
 package com.brisa.controleEstoque.controller;
 
 import java.util.UUID;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springframework.validation.annotation.Validated;
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.ETags;
 import com.brisa.controleEstoque.dto.requests.RequestLocationDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseLocationDTO;
 import com.brisa.controleEstoque.entity.Location;
 import com.brisa.controleEstoque.mapper.LocationMapper;
 import com.brisa.controleEstoque.service.LocationService;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -51,31 +63,58 @@ public class LocationController {
     })
     public ResponseEntity<ResponseLocationDTO> create(@RequestBody RequestLocationDTO dto) {
         Location location = locationService.create(dto);
-        return ResponseEntity.ok(locationMapper.toDto(location));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(locationMapper.toDto(location));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a location by ID", description = "Retrieves a specific storage location from the inventory by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Location found", content = @Content(schema = @Schema(implementation = ResponseLocationDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
             @ApiResponse(responseCode = "404", description = "Location not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ResponseLocationDTO> findById(@PathVariable UUID id) {
+    public ResponseEntity<ResponseLocationDTO> findById(@PathVariable UUID id, WebRequest request) {
         Location location = locationService.findById(id);
+        if (request.checkNotModified(ETags.of(location.getVersion()), ETags.lastModified(location.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(locationMapper.toDto(location));
     }
 
     @GetMapping
     @Operation(summary = "Get all locations", description = "Retrieves a paginated list of all storage locations in the inventory")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Locations retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "200", description = "Locations retrieved successfully", content = @Content(schema = @Schema(implementation = Slice.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Slice<ResponseLocationDTO>> findAll(
+            @RequestParam(required = false) String search,
+            @Parameter(description = "How the total is computed: EXACT, ESTIMATE or NONE") @RequestParam(defaultValue = "EXACT") CountMode count,
+            Pageable pageable,
+            WebRequest request) {
+        ChangeStamp stamp = locationService.changeStamp(search);
+        if (request.checkNotModified(ETags.of(stamp), ETags.lastModified(stamp))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(locationService.findAll(search, pageable, count));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get locations by cursor", description = "Keyset-paginated list of storage locations. Returns an opaque nextCursor instead of a total count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Locations retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<ResponseLocationDTO>> findAll(
+    public ResponseEntity<CursorPage<ResponseLocationDTO>> findAllByCursor(
             @RequestParam(required = false) String search,
-            Pageable pageable) {
-        Page<Location> locations = locationService.findAll(search, pageable);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<Location> locations = locationService.findAllByCursor(search, cursor, sort, direction, size);
         return ResponseEntity.ok(locations.map(locationMapper::toDto));
     }
 
@@ -92,6 +131,23 @@ public class LocationController {
         return ResponseEntity.ok(locationMapper.toDto(location));
     }
 
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(summary = "Patch a location", description = "Applies a JSON Merge Patch: only the fields present are written and null clears a field. Send the ETag in If-Match to reject the patch when the location changed meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Location patched successfully", content = @Content(schema = @Schema(implementation = ResponseLocationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch"),
+            @ApiResponse(responseCode = "404", description = "Location not found"),
+            @ApiResponse(responseCode = "412", description = "Location changed since the If-Match version"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseLocationDTO> patch(
+            @PathVariable UUID id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Location location = locationService.patch(id, patch, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(location.getVersion())).body(locationMapper.toDto(location));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a location", description = "Removes a storage location from the inventory system")
     @ApiResponses(value = {
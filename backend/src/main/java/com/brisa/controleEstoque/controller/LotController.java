@@ -1,12 +1,24 @@
 package com.brisa.controleEstoque.controller;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.ETags;
+import com.brisa.controleEstoque.common.RecordFormat;
 import com.brisa.controleEstoque.config.validation.OnCreate;
 import com.brisa.controleEstoque.config.validation.OnUpdate;
 import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseImportDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseLotDTO;
 import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.StockLevel;
+import com.brisa.controleEstoque.entity.enums.StockScope;
 import com.brisa.controleEstoque.mapper.LotMapper;
+import com.brisa.controleEstoque.service.ExportService;
+import com.brisa.controleEstoque.service.LotImportService;
 import com.brisa.controleEstoque.service.LotService;
+import com.brisa.controleEstoque.service.StockLevelService;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,15 +27,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -34,10 +56,17 @@ public class LotController {
 
     private final LotService service;
     private final LotMapper mapper;
+    private final StockLevelService stockLevelService;
+    private final LotImportService importService;
+    private final ExportService exportService;
 
-    public LotController(LotService service, LotMapper mapper) {
+    public LotController(LotService service, LotMapper mapper, StockLevelService stockLevelService,
+            LotImportService importService, ExportService exportService) {
         this.service = service;
         this.mapper = mapper;
+        this.stockLevelService = stockLevelService;
+        this.importService = importService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -49,38 +78,118 @@ public class LotController {
     })
     public ResponseEntity<ResponseLotDTO> create(@RequestBody @Validated(OnCreate.class) RequestLotDTO dto) {
         Lot lot = service.create(dto);
-        return ResponseEntity.status(201).body(mapper.toDto(lot));
+        return ResponseEntity.status(201).body(withStock(mapper.toDto(lot)));
+    }
+
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @Operation(summary = "Import lots in bulk", description = "Streams a CSV (header with lotNumber, productId, manufacturingDate, expirationDate) or NDJSON body and creates the lots in chunks. Rows that fail are listed in the report; the others are imported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed", content = @Content(schema = @Schema(implementation = ResponseImportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing CSV header columns"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseImportDTO> importLots(HttpServletRequest request) throws IOException {
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        RecordFormat format = RecordFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(importService.importLots(request.getReader(), format));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a lot by ID", description = "Retrieves a specific product lot from the inventory by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lot found", content = @Content(schema = @Schema(implementation = ResponseLotDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
             @ApiResponse(responseCode = "404", description = "Lot not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ResponseLotDTO> findById(@PathVariable UUID id) {
+    public ResponseEntity<ResponseLotDTO> findById(@PathVariable UUID id, WebRequest request) {
         Lot lot = service.findById(id);
-        return ResponseEntity.ok(mapper.toDto(lot));
+        StockLevel level = stockLevelService.findLevels(StockScope.LOT, List.of(id)).get(id);
+        // Answered from the row and its stock level, before any mapping or serialization
+        if (request.checkNotModified(eTag(lot.getVersion(), level),
+                ETags.lastModified(lot.getUpdatedAt(), level != null ? level.getUpdatedAt() : null))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(withStock(mapper.toDto(lot), level));
     }
 
     @GetMapping
     @Operation(summary = "Get all lots", description = "Retrieves a paginated list of all product lots in the inventory")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lots retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "200", description = "Lots retrieved successfully", content = @Content(schema = @Schema(implementation = Slice.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Slice<ResponseLotDTO>> findAll(
+            @Parameter(description = "Search term for lot number") @RequestParam(required = false) String search,
+            @Parameter(description = "Filter by product ID") @RequestParam(required = false) UUID productId,
+            @Parameter(description = "Filter by manufacturing date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingStartDate,
+            @Parameter(description = "Filter by manufacturing date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingEndDate,
+            @Parameter(description = "Filter by expiration date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationStartDate,
+            @Parameter(description = "Filter by expiration date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationEndDate,
+            @Parameter(description = "How the total is computed: EXACT, ESTIMATE or NONE") @RequestParam(defaultValue = "EXACT") CountMode count,
+            Pageable pageable,
+            WebRequest request) {
+        // One aggregate over the filtered rows decides whether the page has to be read at all
+        ChangeStamp stamp = service.changeStamp(search, productId, manufacturingStartDate, manufacturingEndDate,
+                expirationStartDate, expirationEndDate);
+        LocalDateTime stock = stockLevelService.lastModified(StockScope.LOT);
+        if (request.checkNotModified(ETags.of(stamp, stock), ETags.lastModified(stamp, stock))) {
+            return null;
+        }
+        Slice<ResponseLotDTO> page = service.findAll(search, productId, manufacturingStartDate, manufacturingEndDate,
+            expirationStartDate, expirationEndDate, pageable, count);
+        withStock(page.getContent());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get lots by cursor", description = "Keyset-paginated list of lots. Returns an opaque nextCursor instead of a total count, so deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lots retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorPage<ResponseLotDTO>> findAllByCursor(
+            @Parameter(description = "Search term for lot number") @RequestParam(required = false) String search,
+            @Parameter(description = "Filter by product ID") @RequestParam(required = false) UUID productId,
+            @Parameter(description = "Filter by manufacturing date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingStartDate,
+            @Parameter(description = "Filter by manufacturing date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingEndDate,
+            @Parameter(description = "Filter by expiration date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationStartDate,
+            @Parameter(description = "Filter by expiration date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationEndDate,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key: createdAt or lotNumber") @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<Lot> lots = service.findAllByCursor(search, productId, manufacturingStartDate, manufacturingEndDate,
+            expirationStartDate, expirationEndDate, cursor, sort, direction, size);
+        CursorPage<ResponseLotDTO> page = lots.map(mapper::toDto);
+        withStock(page.getContent());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export lots", description = "Streams every lot matching the filters as CSV or NDJSON, ordered by creation date. Accepts the same filters as the list endpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<ResponseLotDTO>> findAll(
+    public void export(
             @Parameter(description = "Search term for lot number") @RequestParam(required = false) String search,
             @Parameter(description = "Filter by product ID") @RequestParam(required = false) UUID productId,
             @Parameter(description = "Filter by manufacturing date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingStartDate,
             @Parameter(description = "Filter by manufacturing date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime manufacturingEndDate,
             @Parameter(description = "Filter by expiration date range start") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationStartDate,
             @Parameter(description = "Filter by expiration date range end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expirationEndDate,
-            Pageable pageable) {
-        Page<Lot> lots = service.findAll(search, productId, manufacturingStartDate, manufacturingEndDate, 
-            expirationStartDate, expirationEndDate, pageable);
-        return ResponseEntity.ok(lots.map(mapper::toDto));
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "CSV") RecordFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lots." + format.getExtension() + "\"");
+        exportService.exportLots(search, productId, manufacturingStartDate, manufacturingEndDate,
+            expirationStartDate, expirationEndDate, format, response.getWriter());
     }
 
     @PutMapping("/{id}")
@@ -95,7 +204,25 @@ public class LotController {
             @PathVariable UUID id,
             @RequestBody @Validated(OnUpdate.class) RequestLotDTO dto) {
         Lot lot = service.update(id, dto);
-        return ResponseEntity.ok(mapper.toDto(lot));
+        return ResponseEntity.ok(withStock(mapper.toDto(lot)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(summary = "Patch a lot", description = "Applies a JSON Merge Patch: only the fields present are written and null clears a field. Send the ETag in If-Match to reject the patch when the lot changed meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lot patched successfully", content = @Content(schema = @Schema(implementation = ResponseLotDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch"),
+            @ApiResponse(responseCode = "404", description = "Lot not found"),
+            @ApiResponse(responseCode = "412", description = "Lot changed since the If-Match version"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseLotDTO> patch(
+            @PathVariable UUID id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Lot lot = service.patch(id, patch, ETags.expectedVersion(ifMatch));
+        StockLevel level = stockLevelService.findLevelsOnPrimary(StockScope.LOT, List.of(id)).get(id);
+        return ResponseEntity.ok().eTag(eTag(lot.getVersion(), level)).body(withStock(mapper.toDto(lot), level));
     }
 
     @DeleteMapping("/{id}")
@@ -109,4 +236,31 @@ public class LotController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Answers a create or update, so the level is read on the primary
+    private ResponseLotDTO withStock(ResponseLotDTO lot) {
+        return withStock(lot, stockLevelService.findLevelsOnPrimary(StockScope.LOT, List.of(lot.getId()))
+                .get(lot.getId()));
+    }
+
+    // One primary key lookup for the whole page
+    private void withStock(List<ResponseLotDTO> lots) {
+        Map<UUID, StockLevel> levels = stockLevelService.findLevels(StockScope.LOT,
+                lots.stream().map(ResponseLotDTO::getId).toList());
+        for (ResponseLotDTO lot : lots) {
+            withStock(lot, levels.get(lot.getId()));
+        }
+    }
+
+    private static ResponseLotDTO withStock(ResponseLotDTO lot, StockLevel level) {
+        lot.setOnHand(level != null ? level.getOnHand() : 0L);
+        lot.setReserved(level != null ? level.getReserved() : 0L);
+        lot.setAvailable(level != null ? level.getAvailable() : 0L);
+        return lot;
+    }
+
+    // Stock totals are part of the representation, so they are part of the tag
+    private static String eTag(long version, StockLevel level) {
+        return level != null ? ETags.of(version, level.getOnHand(), level.getReserved()) : ETags.of(version, 0, 0);
+    }
 }
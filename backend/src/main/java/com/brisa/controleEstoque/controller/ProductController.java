@@ -1,23 +1,44 @@
 package com.brisa.controleEstoque.controller;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.ETags;
+import com.brisa.controleEstoque.common.RecordFormat;
 import com.brisa.controleEstoque.config.validation.OnCreate;
 import com.brisa.controleEstoque.config.validation.OnUpdate;
 import com.brisa.controleEstoque.dto.requests.RequestProductDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseProductDTO;
 import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.StockLevel;
+import com.brisa.controleEstoque.entity.enums.StockScope;
 import com.brisa.controleEstoque.mapper.ProductMapper;
+import com.brisa.controleEstoque.service.ExportService;
 import com.brisa.controleEstoque.service.ProductService;
+import com.brisa.controleEstoque.service.StockLevelService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -26,10 +47,15 @@ import java.util.UUID;
 public class ProductController {
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final StockLevelService stockLevelService;
+    private final ExportService exportService;
 
-    public ProductController(ProductService productService, ProductMapper productMapper) {
+    public ProductController(ProductService productService, ProductMapper productMapper,
+            StockLevelService stockLevelService, ExportService exportService) {
         this.productService = productService;
         this.productMapper = productMapper;
+        this.stockLevelService = stockLevelService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -41,33 +67,87 @@ public class ProductController {
     })
     public ResponseEntity<ResponseProductDTO> create(@RequestBody @Validated(OnCreate.class) RequestProductDTO dto) {
         Product product = productService.create(dto);
-        return ResponseEntity.status(201).body(productMapper.toDto(product));
+        return ResponseEntity.status(201).body(withStock(productMapper.toDto(product)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a product by ID", description = "Retrieves a specific product from the inventory by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found", content = @Content(schema = @Schema(implementation = ResponseProductDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ResponseProductDTO> findById(@PathVariable UUID id) {
+    public ResponseEntity<ResponseProductDTO> findById(@PathVariable UUID id, WebRequest request) {
         Product product = productService.findById(id);
-        return ResponseEntity.ok(productMapper.toDto(product));
+        StockLevel level = stockLevelService.findLevels(StockScope.PRODUCT, List.of(id)).get(id);
+        // Answered from the row and its stock level, before any mapping or serialization
+        if (request.checkNotModified(eTag(product.getVersion(), level),
+                ETags.lastModified(product.getUpdatedAt(), level != null ? level.getUpdatedAt() : null))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(withStock(productMapper.toDto(product), level));
     }
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieves a paginated list of all products in the inventory")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Products retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully", content = @Content(schema = @Schema(implementation = Slice.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<ResponseProductDTO>> findAll(
+    public ResponseEntity<Slice<ResponseProductDTO>> findAll(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) UUID typeId,
-            Pageable pageable) {
-        Page<Product> products = productService.findAll(search, typeId, pageable);
-        return ResponseEntity.ok(products.map(productMapper::toDto));
+            @Parameter(description = "How the total is computed: EXACT, ESTIMATE or NONE") @RequestParam(defaultValue = "EXACT") CountMode count,
+            Pageable pageable,
+            WebRequest request) {
+        // One aggregate over the filtered rows decides whether the page has to be read at all
+        ChangeStamp stamp = productService.changeStamp(search, typeId);
+        LocalDateTime stock = stockLevelService.lastModified(StockScope.PRODUCT);
+        if (request.checkNotModified(ETags.of(stamp, stock), ETags.lastModified(stamp, stock))) {
+            return null;
+        }
+        Slice<ResponseProductDTO> page = productService.findAll(search, typeId, pageable, count);
+        withStock(page.getContent());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get products by cursor", description = "Keyset-paginated list of products. Returns an opaque nextCursor instead of a total count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorPage<ResponseProductDTO>> findAllByCursor(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID typeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<Product> products = productService.findAllByCursor(search, typeId, cursor, sort, direction, size);
+        CursorPage<ResponseProductDTO> page = products.map(productMapper::toDto);
+        withStock(page.getContent());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export products", description = "Streams every product matching the filters as CSV or NDJSON, ordered by creation date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public void export(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID typeId,
+            @RequestParam(defaultValue = "CSV") RecordFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getExtension() + "\"");
+        exportService.exportProducts(search, typeId, format, response.getWriter());
     }
 
     @PutMapping("/{id}")
@@ -82,7 +162,26 @@ public class ProductController {
             @PathVariable UUID id,
             @RequestBody @Validated(OnUpdate.class) RequestProductDTO dto) {
         Product product = productService.update(id, dto);
-        return ResponseEntity.ok(productMapper.toDto(product));
+        return ResponseEntity.ok(withStock(productMapper.toDto(product)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(summary = "Patch a product", description = "Applies a JSON Merge Patch: only the fields present are written and null clears a field. Send the ETag in If-Match to reject the patch when the product changed meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product patched successfully", content = @Content(schema = @Schema(implementation = ResponseProductDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch"),
+            @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "412", description = "Product changed since the If-Match version"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseProductDTO> patch(
+            @PathVariable UUID id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Product product = productService.patch(id, patch, ETags.expectedVersion(ifMatch));
+        StockLevel level = stockLevelService.findLevelsOnPrimary(StockScope.PRODUCT, List.of(id)).get(id);
+        return ResponseEntity.ok().eTag(eTag(product.getVersion(), level))
+                .body(withStock(productMapper.toDto(product), level));
     }
 
     @DeleteMapping("/{id}")
@@ -96,4 +195,31 @@ public class ProductController {
         productService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Answers a create or update, so the level is read on the primary
+    private ResponseProductDTO withStock(ResponseProductDTO product) {
+        return withStock(product, stockLevelService.findLevelsOnPrimary(StockScope.PRODUCT, List.of(product.getId()))
+                .get(product.getId()));
+    }
+
+    // One primary key lookup for the whole page
+    private void withStock(List<ResponseProductDTO> products) {
+        Map<UUID, StockLevel> levels = stockLevelService.findLevels(StockScope.PRODUCT,
+                products.stream().map(ResponseProductDTO::getId).toList());
+        for (ResponseProductDTO product : products) {
+            withStock(product, levels.get(product.getId()));
+        }
+    }
+
+    private static ResponseProductDTO withStock(ResponseProductDTO product, StockLevel level) {
+        product.setOnHand(level != null ? level.getOnHand() : 0L);
+        product.setReserved(level != null ? level.getReserved() : 0L);
+        product.setAvailable(level != null ? level.getAvailable() : 0L);
+        return product;
+    }
+
+    // Stock totals are part of the representation, so they are part of the tag
+    private static String eTag(long version, StockLevel level) {
+        return level != null ? ETags.of(version, level.getOnHand(), level.getReserved()) : ETags.of(version, 0, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.brisa.controleEstoque.controller;
+
+import com.brisa.controleEstoque.dto.responses.ResponseSchemaJobDTO;
+import com.brisa.controleEstoque.mapper.SchemaChangeJobMapper;
+import com.brisa.controleEstoque.service.SchemaChangeJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/schema-jobs")
+@Tag(name = "Schema Jobs", description = "Background jobs that apply type schema changes to existing items")
+public class SchemaChangeJobController {
+    private final SchemaChangeJobService service;
+    private final SchemaChangeJobMapper mapper;
+
+    public SchemaChangeJobController(SchemaChangeJobService service, SchemaChangeJobMapper mapper) {
+        this.service = service;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all schema jobs", description = "Retrieves a paginated list of schema change jobs, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Page<ResponseSchemaJobDTO>> findAll(
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(service.findAll(pageable).map(mapper::toDto));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a schema job by ID", description = "Returns the job's status, checkpoint and progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found", content = @Content(schema = @Schema(implementation = ResponseSchemaJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseSchemaJobDTO> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(mapper.toDto(service.findById(id)));
+    }
+
+    @PostMapping("/{id}/retry")
+    @Operation(summary = "Retry a schema job", description = "Re-queues a failed or cancelled job. It resumes from its last checkpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job re-queued", content = @Content(schema = @Schema(implementation = ResponseSchemaJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Job is not failed or cancelled"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<ResponseSchemaJobDTO> retry(@PathVariable UUID id) {
+        return ResponseEntity.ok(mapper.toDto(service.retry(id)));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel a schema job", description = "Stops a pending or running job after the chunk in flight")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job cancelled", content = @Content(schema = @Schema(implementation = ResponseSchemaJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Job is not pending or running"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<ResponseSchemaJobDTO> cancel(@PathVariable UUID id) {
+        return ResponseEntity.ok(mapper.toDto(service.cancel(id)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.brisa.controleEstoque.controller;
+
+import com.brisa.controleEstoque.dto.requests.RequestReservationDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseStockDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseStockLevelDTO;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import com.brisa.controleEstoque.mapper.StockLevelMapper;
+import com.brisa.controleEstoque.service.StockLevelService;
+import com.brisa.controleEstoque.service.StockService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@Validated
+@RequestMapping("/api/stock")
+@Tag(name = "Stock", description = "Current stock balances derived from the movement ledger")
+public class StockController {
+
+    private final StockService service;
+    private final StockLevelService stockLevelService;
+    private final StockLevelMapper stockLevelMapper;
+
+    public StockController(StockService service, StockLevelService stockLevelService, StockLevelMapper stockLevelMapper) {
+        this.service = service;
+        this.stockLevelService = stockLevelService;
+        this.stockLevelMapper = stockLevelMapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get stock balances", description = "Returns the current quantity per lot and location, optionally filtered by product, lot or location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balances retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<ResponseStockDTO>> findStock(
+            @Parameter(description = "Filter by product ID") @RequestParam(required = false) UUID productId,
+            @Parameter(description = "Filter by lot ID") @RequestParam(required = false) UUID lotId,
+            @Parameter(description = "Filter by location ID") @RequestParam(required = false) UUID locationId) {
+        return ResponseEntity.ok(service.findStock(productId, lotId, locationId));
+    }
+
+    @GetMapping("/levels/{scope}/{refId}")
+    @Operation(summary = "Get stock totals", description = "Returns on-hand, reserved and available quantity of a product, lot or location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totals retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No totals for this reference"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseStockLevelDTO> findLevel(@PathVariable StockScope scope, @PathVariable UUID refId) {
+        return ResponseEntity.ok(stockLevelMapper.toDto(stockLevelService.findLevel(scope, refId)));
+    }
+
+    @PostMapping("/reservations")
+    @Operation(summary = "Reserve stock", description = "Reserves available quantity of a lot. Fails if the lot does not have enough unreserved stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock reserved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or not enough available stock"),
+            @ApiResponse(responseCode = "404", description = "Lot not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseStockLevelDTO> reserve(@RequestBody @Valid RequestReservationDTO dto) {
+        return ResponseEntity.ok(stockLevelMapper.toDto(stockLevelService.reserve(dto.getLotId(), dto.getQuantity())));
+    }
+
+    @PostMapping("/reservations/release")
+    @Operation(summary = "Release reserved stock", description = "Returns reserved quantity of a lot to available")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock released successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or more than is reserved"),
+            @ApiResponse(responseCode = "404", description = "Lot not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ResponseStockLevelDTO> release(@RequestBody @Valid RequestReservationDTO dto) {
+        return ResponseEntity.ok(stockLevelMapper.toDto(stockLevelService.release(dto.getLotId(), dto.getQuantity())));
+    }
+}
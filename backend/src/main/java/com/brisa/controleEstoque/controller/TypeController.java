@@ -1,15 +1,25 @@
 package com.brisa.controleEstoque.controller;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.ETags;
 import com.brisa.controleEstoque.config.validation.OnCreate;
 import com.brisa.controleEstoque.config.validation.OnUpdate;
 import com.brisa.controleEstoque.dto.requests.RequestTypeDTO;
 import com.brisa.controleEstoque.dto.requests.RequestTypeAttributeDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseDeletedTypeDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseTypeDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseAttributeDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseDuplicateValueDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseFacetsDTO;
 import com.brisa.controleEstoque.entity.Type;
 import com.brisa.controleEstoque.mapper.TypeMapper;
+import com.brisa.controleEstoque.service.FacetService;
 import com.brisa.controleEstoque.service.TypeService;
 import com.brisa.controleEstoque.service.TypeAttributeService;
+import com.brisa.controleEstoque.service.UniqueAttributeService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,11 +27,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 import java.util.List;
@@ -34,12 +48,17 @@ public class TypeController {
         private final TypeService typeService;
         private final TypeMapper typeMapper;
         private final TypeAttributeService typeAttributeService;
+        private final FacetService facetService;
+        private final UniqueAttributeService uniqueAttributeService;
 
         public TypeController(TypeService typeService, TypeMapper typeMapper,
-                        TypeAttributeService typeAttributeService) {
+                        TypeAttributeService typeAttributeService, FacetService facetService,
+                        UniqueAttributeService uniqueAttributeService) {
                 this.typeService = typeService;
                 this.typeMapper = typeMapper;
                 this.typeAttributeService = typeAttributeService;
+                this.facetService = facetService;
+                this.uniqueAttributeService = uniqueAttributeService;
         }
 
         @PostMapping
@@ -58,24 +77,51 @@ public class TypeController {
         @Operation(summary = "Get a product type by ID", description = "Retrieves a specific product type from the inventory by its ID")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Product type found", content = @Content(schema = @Schema(implementation = ResponseTypeDTO.class))),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
                         @ApiResponse(responseCode = "404", description = "Product type not found"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
-        public ResponseEntity<ResponseTypeDTO> findById(@PathVariable UUID id) {
+        public ResponseEntity<ResponseTypeDTO> findById(@PathVariable UUID id, WebRequest request) {
                 Type type = typeService.findById(id);
-                return ResponseEntity.ok(typeMapper.toDto(type));
+                if (request.checkNotModified(ETags.of(type.getVersion()), ETags.lastModified(type.getUpdatedAt()))) {
+                        return null;
+                }
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(typeMapper.toDto(type));
         }
 
         @GetMapping
         @Operation(summary = "Get all product types", description = "Retrieves a paginated list of all product types in the inventory")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Product types retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+                        @ApiResponse(responseCode = "200", description = "Product types retrieved successfully", content = @Content(schema = @Schema(implementation = Slice.class))),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        public ResponseEntity<Slice<ResponseTypeDTO>> findAll(
+                        @RequestParam(required = false) String search,
+                        @Parameter(description = "How the total is computed: EXACT, ESTIMATE or NONE") @RequestParam(defaultValue = "EXACT") CountMode count,
+                        Pageable pageable,
+                        WebRequest request) {
+                ChangeStamp stamp = typeService.changeStamp(search);
+                if (request.checkNotModified(ETags.of(stamp), ETags.lastModified(stamp))) {
+                        return null;
+                }
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(typeService.findAll(search, pageable, count));
+        }
+
+        @GetMapping("/cursor")
+        @Operation(summary = "Get product types by cursor", description = "Keyset-paginated list of product types. Returns an opaque nextCursor instead of a total count")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Product types retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
-        public ResponseEntity<Page<ResponseTypeDTO>> findAll(
+        public ResponseEntity<CursorPage<ResponseTypeDTO>> findAllByCursor(
                         @RequestParam(required = false) String search,
-                        Pageable pageable) {
-                Page<Type> types = typeService.findAll(search, pageable);
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "createdAt") String sort,
+                        @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                        @RequestParam(defaultValue = "20") int size) {
+                CursorPage<Type> types = typeService.findAllByCursor(search, cursor, sort, direction, size);
                 return ResponseEntity.ok(types.map(typeMapper::toDto));
         }
 
@@ -94,16 +140,33 @@ public class TypeController {
                 return ResponseEntity.ok(typeMapper.toDto(type));
         }
 
+        @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+        @Operation(summary = "Patch a product type", description = "Applies a JSON Merge Patch: only the fields present are written and null clears a field. Send the ETag in If-Match to reject the patch when the type changed meanwhile")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Product type patched successfully", content = @Content(schema = @Schema(implementation = ResponseTypeDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid patch"),
+                        @ApiResponse(responseCode = "404", description = "Product type not found"),
+                        @ApiResponse(responseCode = "412", description = "Product type changed since the If-Match version"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        public ResponseEntity<ResponseTypeDTO> patch(
+                        @PathVariable UUID id,
+                        @RequestBody JsonNode patch,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                Type type = typeService.patch(id, patch, ETags.expectedVersion(ifMatch));
+                return ResponseEntity.ok().eTag(ETags.of(type.getVersion())).body(typeMapper.toDto(type));
+        }
+
         @DeleteMapping("/{id}")
         @Operation(summary = "Delete a product type", description = "Removes a product type from the inventory system")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "204", description = "Product type deleted successfully"),
+                        @ApiResponse(responseCode = "200", description = "Product type deleted successfully, with the rows removed"),
+                        @ApiResponse(responseCode = "400", description = "Product type still referenced by products"),
                         @ApiResponse(responseCode = "404", description = "Product type not found"),
                         @ApiResponse(responseCode = "500", description = "Internal server error")
         })
-        public ResponseEntity<Void> delete(@PathVariable UUID id) {
-                typeService.delete(id);
-                return ResponseEntity.noContent().build();
+        public ResponseEntity<ResponseDeletedTypeDTO> delete(@PathVariable UUID id) {
+                return ResponseEntity.ok(typeService.delete(id));
         }
 
         @PostMapping("/{typeId}/attributes")
@@ -124,15 +187,47 @@ public class TypeController {
         @GetMapping("/{typeId}/attributes")
         @Operation(summary = "List attributes for a type", description = "Returns all attributes linked to a type, including isRequired, defaultValue, and options.")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Attributes retrieved successfully", content = @Content(schema = @Schema(implementation = ResponseAttributeDTO.class)))
+                        @ApiResponse(responseCode = "200", description = "Attributes retrieved successfully", content = @Content(schema = @Schema(implementation = ResponseAttributeDTO.class))),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the If-None-Match or If-Modified-Since validators"),
+                        @ApiResponse(responseCode = "404", description = "Product type not found")
         })
         public ResponseEntity<List<ResponseAttributeDTO>> getAttributesForType(
-                        @Parameter(description = "ID of the type", required = true) @PathVariable UUID typeId) {
-                return ResponseEntity.ok(typeAttributeService.getAttributesForType(typeId));
+                        @Parameter(description = "ID of the type", required = true) @PathVariable UUID typeId,
+                        WebRequest request) {
+                ChangeStamp stamp = typeAttributeService.attributesChangeStamp(typeId);
+                if (request.checkNotModified(ETags.of(stamp), ETags.lastModified(stamp))) {
+                        return null;
+                }
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(typeAttributeService.getAttributesForType(typeId));
+        }
+
+        @GetMapping("/{typeId}/facets")
+        @Operation(summary = "Facet counts for a type", description = "Counts the type's items per value of each SELECT and BOOLEAN attribute, served from an in-memory bitmap index.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Facet counts computed", content = @Content(schema = @Schema(implementation = ResponseFacetsDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid facet filter"),
+                        @ApiResponse(responseCode = "404", description = "Product type not found")
+        })
+        public ResponseEntity<ResponseFacetsDTO> getFacets(
+                        @Parameter(description = "ID of the type", required = true) @PathVariable UUID typeId,
+                        @Parameter(description = "Active filter <attributeId>:eq:<value>. Repeat an attribute to accept any of its values")
+                        @RequestParam(name = "attr", required = false) List<String> filters) {
+                return ResponseEntity.ok(facetService.facets(typeId, filters));
+        }
+
+        @GetMapping("/{typeId}/attributes/{attributeId}/duplicates")
+        @Operation(summary = "List duplicate attribute values", description = "Returns the values of an attribute held by more than one item of the type, i.e. what blocks turning isUnique on.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Duplicates retrieved successfully", content = @Content(schema = @Schema(implementation = ResponseDuplicateValueDTO.class)))
+        })
+        public ResponseEntity<List<ResponseDuplicateValueDTO>> getDuplicateValues(
+                        @Parameter(description = "ID of the type", required = true) @PathVariable UUID typeId,
+                        @Parameter(description = "ID of the attribute", required = true) @PathVariable UUID attributeId) {
+                return ResponseEntity.ok(uniqueAttributeService.findDuplicates(typeId, attributeId));
         }
 
         @DeleteMapping("/{typeId}/attributes/{attributeId}")
-        @Operation(summary = "Remove attribute from type", description = "Removes the association between a type and an attribute. Does not delete the attribute itself.")
+        @Operation(summary = "Remove attribute from type", description = "Removes the association between a type and an attribute, along with the values the type's items hold for it. Does not delete the attribute itself.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "204", description = "Association removed successfully"),
                         @ApiResponse(responseCode = "404", description = "Type or attribute not found")
@@ -0,0 +1,35 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs reads whose result outlives the request, such as cache fills, on the
+ * primary. Read-only transactions may be routed to a lagging replica, so a
+ * read-only caller gets a read-write transaction of its own; any other caller's
+ * transaction is joined, and one is started when there is none.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate joinOrStart;
+    private final TransactionTemplate requiresNew;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.joinOrStart = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T call(Supplier<T> read) {
+        TransactionTemplate template = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? requiresNew
+                : joinOrStart;
+        return template.execute(status -> read.get());
+    }
+}
@@ -0,0 +1,43 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica while {@link ReplicaLagMonitor}
+ * reports it caught up, everything else to the primary. Only transactions
+ * {@link ReplicaAwareJpaDialect} marked at their begin qualify, since those are
+ * the ones kept from filling the second-level cache. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens the connection before the read-only flag is
+ * published, so the lookup has to wait for the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && ReplicaAwareJpaDialect.isReplicaTransaction()
+                && lagMonitor.isReplicaUsable()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,77 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Decides when a transaction begins whether it reads from the replica, and
+ * keeps those transactions from filling Hibernate's second-level and query
+ * caches: their sessions only read the caches ({@link CacheMode#GET}), so a
+ * row a lagging replica returned never outlives the transaction. Read-write
+ * transactions, and read-only ones begun while the replica is behind, fill
+ * the caches from the primary as before. {@link ReadWriteRoutingDataSource}
+ * only routes transactions marked here, so routing and cache mode agree even
+ * when the lag check flips between the begin and the first statement.
+ */
+class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    // Restored on cleanup, so a REQUIRES_NEW transaction hands the outer one's mark back
+    private static final ThreadLocal<Boolean> REPLICA_TRANSACTION = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaUsable;
+
+    ReplicaAwareJpaDialect(BooleanSupplier replicaUsable) {
+        this.replicaUsable = replicaUsable;
+    }
+
+    static boolean isReplicaTransaction() {
+        return Boolean.TRUE.equals(REPLICA_TRANSACTION.get());
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        Boolean outer = REPLICA_TRANSACTION.get();
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        boolean replica = definition.isReadOnly() && replicaUsable.getAsBoolean();
+        if (replica) {
+            session.setCacheMode(CacheMode.GET);
+        }
+        REPLICA_TRANSACTION.set(replica);
+        return new ReplicaTransactionData(transactionData, session, cacheMode, outer);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (!(transactionData instanceof ReplicaTransactionData data)) {
+            super.cleanupTransaction(transactionData);
+            return;
+        }
+        try {
+            super.cleanupTransaction(data.delegate());
+        } finally {
+            // With open-in-view the session outlives the transaction and may start a read-write one next
+            if (data.session().isOpen()) {
+                data.session().setCacheMode(data.cacheMode());
+            }
+            if (data.outer() == null) {
+                REPLICA_TRANSACTION.remove();
+            } else {
+                REPLICA_TRANSACTION.set(data.outer());
+            }
+        }
+    }
+
+    private record ReplicaTransactionData(Object delegate, Session session, CacheMode cacheMode, Boolean outer) {
+    }
+}
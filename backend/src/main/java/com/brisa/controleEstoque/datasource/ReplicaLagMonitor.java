@@ -0,0 +1,56 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.time.Duration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the replica's replay lag. A replica that has replayed everything it
+ * received counts as current even when the primary has been idle; one that is
+ * behind by more than {@code app.datasource.replica.max-lag}, or cannot be
+ * reached, is taken out of rotation until a later check sees it caught up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile boolean usable = false;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        boolean current;
+        try {
+            Double lagMillis = replica.queryForObject(LAG_SQL, Double.class);
+            current = lagMillis != null && lagMillis <= maxLag.toMillis();
+            if (!current && usable) {
+                log.warn("Replica is {} ms behind, reading from the primary", lagMillis.longValue());
+            }
+        } catch (RuntimeException e) {
+            current = false;
+            if (usable) {
+                log.warn("Replica lag check failed, reading from the primary", e);
+            }
+        }
+        if (current && !usable) {
+            log.info("Replica caught up, routing read-only transactions to it");
+        }
+        usable = current;
+    }
+}
@@ -0,0 +1,48 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * JDBC guards for {@code spring.threads.virtual.enabled}. Tomcat, {@code @Async}
+ * and the schedulers then run on virtual threads, so nothing bounds request
+ * concurrency before the connection pool any more: the application-facing
+ * {@code dataSource} is wrapped in a {@link ConcurrencyLimitedDataSource}, and
+ * pinning inside the JDBC path is reported.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+
+    // Static so the wrapping applies to the DataSource however early it is created
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSource(
+            @Value("${app.datasource.limiter.max-concurrent:10}") int maxConcurrent,
+            @Value("${app.datasource.limiter.acquire-timeout:PT10S}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(initMethod = "start")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.datasource.pinning-threshold:20ms}") Duration threshold, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.brisa.controleEstoque.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events and reports the ones
+ * whose stack goes through the JDBC path: a {@code synchronized} block there
+ * holds the carrier thread for the whole database round trip. Each pinning
+ * site is logged once with its stack and counted in
+ * {@code jdbc.virtual-thread.pinned}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final List<String> JDBC_PATH = List.of("org.postgresql.", "org.h2.", "com.zaxxer.hikari.",
+            "java.sql.", "org.hibernate.", "org.springframework.jdbc.", "org.springframework.orm.");
+    private static final int LOGGED_FRAMES = 15;
+
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for over {} in the JDBC path", threshold);
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        // The innermost JDBC-path frame is the closest one to the monitor being held
+        RecordedFrame site = frames.stream().filter(VirtualThreadPinningMonitor::inJdbcPath).findFirst().orElse(null);
+        if (site == null) {
+            return;
+        }
+        String location = describe(site);
+        Counter.builder("jdbc.virtual-thread.pinned")
+                .description("Virtual threads pinned to their carrier inside the JDBC path")
+                .tag("site", location)
+                .register(meterRegistry)
+                .increment();
+        if (reported.add(location)) {
+            log.warn("Virtual thread pinned for {} ms at {}; a synchronized block holds the carrier:\n\t{}",
+                    event.getDuration().toMillis(), location, frames.stream()
+                            .limit(LOGGED_FRAMES)
+                            .map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static boolean inJdbcPath(RecordedFrame frame) {
+        if (!frame.isJavaFrame()) {
+            return false;
+        }
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PATH.stream().anyMatch(type::startsWith);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
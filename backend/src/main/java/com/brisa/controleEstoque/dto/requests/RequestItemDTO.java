@@ -0,0 +1,71 @@
+package com.brisa.controleEstoque.dto.requests;
+
+import com.brisa.controleEstoque.config.validation.OnCreate;
+import com.brisa.controleEstoque.config.validation.OnUpdate;
+import com.brisa.controleEstoque.entity.enums.ItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Schema(description = "Item request. Attribute values are keyed by attribute ID and checked against the product type")
+public class RequestItemDTO {
+    @NotNull(message = "Lot ID is required", groups = OnCreate.class)
+    private UUID lotId;
+
+    @NotNull(message = "Location ID is required", groups = OnCreate.class)
+    private UUID locationId;
+
+    @NotBlank(message = "Serial number is required", groups = OnCreate.class)
+    @Size(max = 100, message = "Serial number cannot exceed 100 characters", groups = {OnCreate.class, OnUpdate.class})
+    private String serialNumber;
+
+    private ItemStatus status;
+
+    @Schema(description = "Attribute values as text, e.g. {\"<attributeId>\": \"220\"}")
+    private Map<UUID, String> attributes = new HashMap<>();
+
+    public UUID getLotId() {
+        return lotId;
+    }
+
+    public void setLotId(UUID lotId) {
+        this.lotId = lotId;
+    }
+
+    public UUID getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(UUID locationId) {
+        this.locationId = locationId;
+    }
+
+    public String getSerialNumber() {
+        return serialNumber;
+    }
+
+    public void setSerialNumber(String serialNumber) {
+        this.serialNumber = serialNumber;
+    }
+
+    public ItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ItemStatus status) {
+        this.status = status;
+    }
+
+    public Map<UUID, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<UUID, String> attributes) {
+        this.attributes = attributes;
+    }
+}
@@ -4,9 +4,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public class RequestLotDTO {
     @NotBlank(message = "Lot number is required")
+    @Size(max = 50, message = "Lot number cannot exceed 50 characters")
     private String lotNumber;
 
     @NotNull(message = "Product ID is required")
@@ -0,0 +1,77 @@
+package com.brisa.controleEstoque.dto.requests;
+
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+@Schema(description = "Stock movement request. RECEIPT needs toLocationId, ISSUE needs fromLocationId, "
+        + "TRANSFER needs both and ADJUSTMENT exactly one of them (to adds, from removes)")
+public class RequestMovementDTO {
+    @NotNull(message = "Movement type is required")
+    private MovementType movementType;
+
+    @NotNull(message = "Lot ID is required")
+    private UUID lotId;
+
+    private UUID fromLocationId;
+    private UUID toLocationId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Long quantity;
+
+    @Size(max = 500, message = "Notes cannot exceed 500 characters")
+    private String notes;
+
+    public MovementType getMovementType() {
+        return movementType;
+    }
+
+    public void setMovementType(MovementType movementType) {
+        this.movementType = movementType;
+    }
+
+    public UUID getLotId() {
+        return lotId;
+    }
+
+    public void setLotId(UUID lotId) {
+        this.lotId = lotId;
+    }
+
+    public UUID getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public void setFromLocationId(UUID fromLocationId) {
+        this.fromLocationId = fromLocationId;
+    }
+
+    public UUID getToLocationId() {
+        return toLocationId;
+    }
+
+    public void setToLocationId(UUID toLocationId) {
+        this.toLocationId = toLocationId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Rows removed by deleting a type")
+public class ResponseDeletedTypeDTO {
+    @Schema(description = "Deleted type", example = "0190a3f2-7c1e-7b4a-9d2e-3f4a5b6c7d8e")
+    private UUID id;
+
+    @Schema(description = "Type rows deleted", example = "1")
+    private int types;
+
+    @Schema(description = "Attribute associations deleted with the type", example = "12")
+    private int typeAttributes;
+
+    public ResponseDeletedTypeDTO() {
+    }
+
+    public ResponseDeletedTypeDTO(UUID id, int types, int typeAttributes) {
+        this.id = id;
+        this.types = types;
+        this.typeAttributes = typeAttributes;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public int getTypes() {
+        return types;
+    }
+
+    public void setTypes(int types) {
+        this.types = types;
+    }
+
+    public int getTypeAttributes() {
+        return typeAttributes;
+    }
+
+    public void setTypeAttributes(int typeAttributes) {
+        this.typeAttributes = typeAttributes;
+    }
+}
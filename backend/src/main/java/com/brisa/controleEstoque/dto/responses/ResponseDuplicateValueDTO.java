@@ -0,0 +1,36 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Attribute value held by more than one item of a type")
+public class ResponseDuplicateValueDTO {
+    @Schema(description = "Canonical value", example = "SN-0042")
+    private String value;
+
+    @Schema(description = "Items holding the value", example = "3")
+    private long count;
+
+    public ResponseDuplicateValueDTO() {
+    }
+
+    public ResponseDuplicateValueDTO(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
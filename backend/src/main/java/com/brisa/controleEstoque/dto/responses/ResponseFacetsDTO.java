@@ -0,0 +1,106 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Schema(description = "Facet counts of a type's items under the active filters")
+public class ResponseFacetsDTO {
+    private UUID typeId;
+
+    @Schema(description = "Items matching every filter", example = "1291")
+    private long itemCount;
+
+    @Schema(description = "Distinct products among the matching items", example = "14")
+    private long productCount;
+
+    private List<Facet> facets = new ArrayList<>();
+
+    public UUID getTypeId() {
+        return typeId;
+    }
+
+    public void setTypeId(UUID typeId) {
+        this.typeId = typeId;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+
+    public List<Facet> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(List<Facet> facets) {
+        this.facets = facets;
+    }
+
+    @Schema(description = "Item counts per value of one attribute, ignoring that attribute's own filter")
+    public static class Facet {
+        private UUID attributeId;
+        private String name;
+        private AttributeDataType dataType;
+
+        @Schema(description = "Value to matching items", example = "{\"blue\": 1203, \"red\": 88}")
+        private Map<String, Long> counts;
+
+        public Facet() {
+        }
+
+        public Facet(UUID attributeId, String name, AttributeDataType dataType, Map<String, Long> counts) {
+            this.attributeId = attributeId;
+            this.name = name;
+            this.dataType = dataType;
+            this.counts = counts;
+        }
+
+        public UUID getAttributeId() {
+            return attributeId;
+        }
+
+        public void setAttributeId(UUID attributeId) {
+            this.attributeId = attributeId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public AttributeDataType getDataType() {
+            return dataType;
+        }
+
+        public void setDataType(AttributeDataType dataType) {
+            this.dataType = dataType;
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+
+        public void setCounts(Map<String, Long> counts) {
+            this.counts = counts;
+        }
+    }
+}
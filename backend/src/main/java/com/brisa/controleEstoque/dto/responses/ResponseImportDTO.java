@@ -0,0 +1,108 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk import")
+public class ResponseImportDTO {
+    @Schema(description = "Data rows read from the body", example = "50000")
+    private long total;
+
+    @Schema(description = "Rows inserted", example = "49998")
+    private long imported;
+
+    @Schema(description = "Rows rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Whether more rows failed than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    @Schema(description = "Why a row was rejected")
+    public static class RowError {
+        @Schema(description = "1-based line number in the body", example = "17")
+        private long line;
+
+        @Schema(description = "Lot number of the row, when it could be read", example = "LOT-2024-017")
+        private String lotNumber;
+
+        @Schema(description = "Reason", example = "Product not found")
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String lotNumber, String message) {
+            this.line = line;
+            this.lotNumber = lotNumber;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getLotNumber() {
+            return lotNumber;
+        }
+
+        public void setLotNumber(String lotNumber) {
+            this.lotNumber = lotNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -11,6 +11,9 @@ public class ResponseLotDTO {
     private LocalDateTime expirationDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long onHand;
+    private Long reserved;
+    private Long available;
 	public UUID getId() {
 		return id;
 	}
@@ -53,5 +56,23 @@ public class ResponseLotDTO {
 	public void setUpdatedAt(LocalDateTime updatedAt) {
 		this.updatedAt = updatedAt;
 	}
+	public Long getOnHand() {
+		return onHand;
+	}
+	public void setOnHand(Long onHand) {
+		this.onHand = onHand;
+	}
+	public Long getReserved() {
+		return reserved;
+	}
+	public void setReserved(Long reserved) {
+		this.reserved = reserved;
+	}
+	public Long getAvailable() {
+		return available;
+	}
+	public void setAvailable(Long available) {
+		this.available = available;
+	}
 
 }
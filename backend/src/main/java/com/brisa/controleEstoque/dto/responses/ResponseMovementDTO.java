@@ -0,0 +1,101 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Ledger entry for a stock movement")
+public class ResponseMovementDTO {
+    @Schema(description = "Ledger sequence number", example = "1024")
+    private Long id;
+
+    @Schema(description = "Type of movement", example = "TRANSFER")
+    private MovementType movementType;
+
+    private UUID productId;
+    private UUID lotId;
+    private UUID locationId;
+
+    @Schema(description = "Signed quantity: positive enters the location, negative leaves it", example = "-5")
+    private Long quantity;
+
+    @Schema(description = "User who recorded the movement")
+    private UUID userId;
+
+    private String notes;
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public MovementType getMovementType() {
+        return movementType;
+    }
+
+    public void setMovementType(MovementType movementType) {
+        this.movementType = movementType;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public UUID getLotId() {
+        return lotId;
+    }
+
+    public void setLotId(UUID lotId) {
+        this.lotId = lotId;
+    }
+
+    public UUID getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(UUID locationId) {
+        this.locationId = locationId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
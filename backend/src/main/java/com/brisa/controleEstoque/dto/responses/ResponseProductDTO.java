@@ -17,6 +17,15 @@ public class ResponseProductDTO {
     @Schema(description = "Description of the product", example = "A powerful laptop with a 15.6 inch screen")
     private String description;
 
+    @Schema(description = "Quantity on hand across all lots", example = "120")
+    private Long onHand;
+
+    @Schema(description = "Quantity reserved across all lots", example = "20")
+    private Long reserved;
+
+    @Schema(description = "On hand minus reserved", example = "100")
+    private Long available;
+
     public UUID getId() {
         return id;
     }
@@ -48,4 +57,28 @@ public class ResponseProductDTO {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getOnHand() {
+        return onHand;
+    }
+
+    public void setOnHand(Long onHand) {
+        this.onHand = onHand;
+    }
+
+    public Long getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(Long reserved) {
+        this.reserved = reserved;
+    }
+
+    public Long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Long available) {
+        this.available = available;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import com.brisa.controleEstoque.entity.enums.SchemaJobStatus;
+import com.brisa.controleEstoque.entity.enums.SchemaJobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ResponseSchemaJobDTO {
+    private UUID id;
+    private SchemaJobType jobType;
+    private SchemaJobStatus status;
+    private UUID typeId;
+    private UUID attributeId;
+    private String defaultValue;
+
+    @Schema(description = "Items processed so far", example = "12000")
+    private Long processed;
+
+    @Schema(description = "Items of the type when the job started", example = "48000")
+    private Long total;
+
+    @Schema(description = "Last item id whose chunk committed; a restart continues after it")
+    private UUID checkpoint;
+
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Processed share of the total, 0-100", example = "25.0")
+    public Double getProgress() {
+        if (total == null || processed == null) {
+            return null;
+        }
+        return total == 0 ? 100.0 : Math.min(100.0, processed * 100.0 / total);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public SchemaJobType getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(SchemaJobType jobType) {
+        this.jobType = jobType;
+    }
+
+    public SchemaJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SchemaJobStatus status) {
+        this.status = status;
+    }
+
+    public UUID getTypeId() {
+        return typeId;
+    }
+
+    public void setTypeId(UUID typeId) {
+        this.typeId = typeId;
+    }
+
+    public UUID getAttributeId() {
+        return attributeId;
+    }
+
+    public void setAttributeId(UUID attributeId) {
+        this.attributeId = attributeId;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public void setDefaultValue(String defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(Long processed) {
+        this.processed = processed;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public UUID getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(UUID checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,57 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Current quantity of a lot at a location")
+public class ResponseStockDTO {
+    private UUID productId;
+    private UUID lotId;
+    private UUID locationId;
+
+    @Schema(description = "Quantity on hand", example = "120")
+    private Long quantity;
+
+    public ResponseStockDTO() {
+    }
+
+    public ResponseStockDTO(UUID productId, UUID lotId, UUID locationId, Long quantity) {
+        this.productId = productId;
+        this.lotId = lotId;
+        this.locationId = locationId;
+        this.quantity = quantity;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public UUID getLotId() {
+        return lotId;
+    }
+
+    public void setLotId(UUID lotId) {
+        this.lotId = lotId;
+    }
+
+    public UUID getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(UUID locationId) {
+        this.locationId = locationId;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+}
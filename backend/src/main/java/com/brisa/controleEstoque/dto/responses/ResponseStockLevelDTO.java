@@ -0,0 +1,64 @@
+package com.brisa.controleEstoque.dto.responses;
+
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Stock totals of a product, lot or location")
+public class ResponseStockLevelDTO {
+    @Schema(description = "What the totals are aggregated over", example = "LOT")
+    private StockScope scope;
+
+    @Schema(description = "ID of the product, lot or location", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID refId;
+
+    @Schema(description = "Quantity on hand", example = "120")
+    private Long onHand;
+
+    @Schema(description = "Quantity reserved", example = "20")
+    private Long reserved;
+
+    @Schema(description = "On hand minus reserved", example = "100")
+    private Long available;
+
+    public StockScope getScope() {
+        return scope;
+    }
+
+    public void setScope(StockScope scope) {
+        this.scope = scope;
+    }
+
+    public UUID getRefId() {
+        return refId;
+    }
+
+    public void setRefId(UUID refId) {
+        this.refId = refId;
+    }
+
+    public Long getOnHand() {
+        return onHand;
+    }
+
+    public void setOnHand(Long onHand) {
+        this.onHand = onHand;
+    }
+
+    public Long getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(Long reserved) {
+        this.reserved = reserved;
+    }
+
+    public Long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Long available) {
+        this.available = available;
+    }
+}
@@ -0,0 +1,72 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import com.brisa.controleEstoque.entity.enums.MovementType;
+
+/**
+ * One signed stock change of a lot at a location. Rows are insert-only: a
+ * transfer is written as an outgoing and an incoming row, and corrections are
+ * new ADJUSTMENT rows, never updates.
+ */
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+	@Index(name = "idx_inventory_movement_lot_location_id", columnList = "lot_id, location_id, id"),
+	@Index(name = "idx_inventory_movement_product_id", columnList = "product_id, id"),
+	@Index(name = "idx_inventory_movement_location_id", columnList = "location_id, id"),
+	// Snapshot runs fold and reads sum the movements after a creation time watermark
+	@Index(name = "idx_inventory_movement_created_at", columnList = "created_at")
+})
+public class InventoryMovement {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movement_seq")
+	@SequenceGenerator(name = "inventory_movement_seq", sequenceName = "inventory_movement_seq", allocationSize = 50)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false, length = 20)
+	private MovementType movementType;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false, updatable = false)
+	private Product product;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false, updatable = false)
+	private Lot lot;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false, updatable = false)
+	private Location location;
+
+	// Positive when stock enters the location, negative when it leaves
+	@Column(nullable = false, updatable = false)
+	private Long quantity;
+
+	@Column(updatable = false)
+	private UUID userId;
+
+	@Column(updatable = false, length = 500)
+	private String notes;
+
+	@CreationTimestamp
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+}
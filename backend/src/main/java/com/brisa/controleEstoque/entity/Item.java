@@ -0,0 +1,77 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.brisa.controleEstoque.entity.enums.ItemStatus;
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
+
+/**
+ * A single serialized unit of a lot. Its attribute values live in
+ * {@link ItemAttribute} rows, one per attribute of the product's type.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+	@Index(name = "idx_item_created_at_id", columnList = "created_at, id"),
+	@Index(name = "idx_item_product_id", columnList = "product_id, id"),
+	@Index(name = "idx_item_lot_id", columnList = "lot_id, id"),
+	@Index(name = "idx_item_location_id", columnList = "location_id, id")
+})
+public class Item {
+
+	@Id
+	@UuidV7Id
+	private UUID id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	private Product product;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	private Lot lot;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	private Location location;
+
+	@Column(nullable = false, length = 100, unique = true)
+	private String serialNumber;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private ItemStatus status = ItemStatus.AVAILABLE;
+
+	@OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
+	@Builder.Default
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private List<ItemAttribute> attributes = new ArrayList<>();
+
+	@CreationTimestamp
+	private LocalDateTime createdAt;
+
+	@UpdateTimestamp
+	private LocalDateTime updatedAt;
+
+}
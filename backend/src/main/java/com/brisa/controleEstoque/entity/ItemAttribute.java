@@ -0,0 +1,90 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
+
+/**
+ * Value of one attribute for one item. Exactly one of the value columns is
+ * set, picked by the attribute's data type, so range and equality filters
+ * compare native values through the (attribute_id, value_*) indexes instead
+ * of casting text. The indexes end in item_id so a filter is answered from
+ * the index alone before joining back to the item.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(uniqueConstraints = {
+	@UniqueConstraint(name = "uk_item_attribute_item_attribute", columnNames = {"item_id", "attribute_id"}),
+	@UniqueConstraint(name = ItemAttribute.UNIQUE_VALUE_CONSTRAINT, columnNames = {"unique_scope", "attribute_id", "value_key"})
+}, indexes = {
+	@Index(name = "idx_item_attribute_number", columnList = "attribute_id, value_number, item_id"),
+	@Index(name = "idx_item_attribute_date", columnList = "attribute_id, value_date, item_id"),
+	@Index(name = "idx_item_attribute_boolean", columnList = "attribute_id, value_boolean, item_id"),
+	@Index(name = "idx_item_attribute_text", columnList = "attribute_id, value_text, item_id")
+})
+public class ItemAttribute {
+
+	public static final String UNIQUE_VALUE_CONSTRAINT = "uk_item_attribute_unique_value";
+
+	@Id
+	@UuidV7Id
+	private UUID id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private Item item;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	private Attribute attribute;
+
+	// STRING and SELECT values; kept short enough for a B-tree entry
+	@Column(length = 500)
+	private String valueText;
+
+	private Double valueNumber;
+
+	private LocalDate valueDate;
+
+	private Boolean valueBoolean;
+
+	// JSON documents are stored as-is and never filtered on
+	@Column(columnDefinition = "text")
+	private String valueJson;
+
+	// Type id while the type attribute is unique, otherwise NULL (NULLs never collide)
+	private UUID uniqueScope;
+
+	// Canonical value, see CompiledAttribute.uniqueKey; set together with uniqueScope
+	@Column(length = 500)
+	private String valueKey;
+
+	/** @return whichever value column is set, or {@code null} */
+	public Object getValue() {
+		if (valueNumber != null) {
+			return valueNumber;
+		}
+		if (valueDate != null) {
+			return valueDate;
+		}
+		if (valueBoolean != null) {
+			return valueBoolean;
+		}
+		return valueText != null ? valueText : valueJson;
+	}
+
+}
@@ -9,18 +9,25 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
+
 @Entity
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@Table(indexes = {
+	@Index(name = "idx_lot_created_at_id", columnList = "created_at, id"),
+	@Index(name = "idx_lot_product_created_at_id", columnList = "product_id, created_at, id")
+})
 public class Lot {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.UUID)
+	@UuidV7Id
 	private UUID id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +43,11 @@ public class Lot {
 	private LocalDateTime manufacturingDate;
 	private LocalDateTime expirationDate;
 
+	@Version
+	@Column(nullable = false)
+	@ColumnDefault("0")
+	private Long version;
+
 	@CreationTimestamp
 	private LocalDateTime createdAt;
 
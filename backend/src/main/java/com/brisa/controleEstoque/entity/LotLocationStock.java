@@ -0,0 +1,54 @@
+package com.brisa.controleEstoque.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running on-hand quantity of one lot at one location, kept by
+ * {@code StockLevelService} next to the lot and location totals so stock
+ * leaving a location, transfers included, is checked against what that lot
+ * holds there. Reservations are per lot and are not tracked here. A row only
+ * exists once the pair has movements, which already keep the lot and the
+ * location from being deleted.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LotLocationStock {
+    @EmbeddedId
+    private LotLocationStockId id;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long onHand = 0L;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class LotLocationStockId implements Serializable {
+        @Column(nullable = false)
+        private UUID lotId;
+        @Column(nullable = false)
+        private UUID locationId;
+    }
+}
@@ -6,29 +6,42 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
+
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+    @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_product_name_id", columnList = "name, id"),
+    @Index(name = "idx_product_type_id", columnList = "type_id")
+})
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "type_id", nullable = false)
     private Type type;
 
     @Column(length = 500)
     private String description;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -0,0 +1,77 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.brisa.controleEstoque.entity.enums.SchemaJobStatus;
+import com.brisa.controleEstoque.entity.enums.SchemaJobType;
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
+
+/**
+ * A schema change applied to existing rows in the background. The job walks
+ * the type's items in id order; {@code checkpoint} is the last item id whose
+ * chunk committed, so a restarted job continues right after it.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+	@Index(name = "idx_schema_change_job_status_created_at", columnList = "status, created_at")
+})
+public class SchemaChangeJob {
+
+	@Id
+	@UuidV7Id
+	private UUID id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false, length = 30)
+	private SchemaJobType jobType;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private SchemaJobStatus status = SchemaJobStatus.PENDING;
+
+	@Column(nullable = false, updatable = false)
+	private UUID typeId;
+
+	@Column(nullable = false, updatable = false)
+	private UUID attributeId;
+
+	// Value written to items that lack the attribute
+	@Column(updatable = false, length = 500)
+	private String defaultValue;
+
+	private UUID checkpoint;
+
+	@Builder.Default
+	private Long processed = 0L;
+
+	// Items of the type when the job started; new items are not counted
+	private Long total;
+
+	@Column(length = 1000)
+	private String error;
+
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+
+	@CreationTimestamp
+	private LocalDateTime createdAt;
+
+	@UpdateTimestamp
+	private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,70 @@
+package com.brisa.controleEstoque.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.brisa.controleEstoque.entity.enums.StockScope;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running on-hand and reserved totals for one product, lot or location. Kept
+ * current by {@code StockLevelService} in the same transaction as each stock
+ * mutation, so reads are a primary key lookup.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+    // Latest change per scope, for the validators of stock-bearing lists
+    @Index(name = "idx_stock_level_scope_updated_at", columnList = "scope, updated_at")
+})
+public class StockLevel {
+    @EmbeddedId
+    private StockLevelId id;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long onHand = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long reserved = 0L;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public long getAvailable() {
+        return onHand - reserved;
+    }
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class StockLevelId implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        private StockScope scope;
+        @Column(nullable = false)
+        private UUID refId;
+    }
+}
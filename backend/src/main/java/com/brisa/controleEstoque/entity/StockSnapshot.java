@@ -0,0 +1,60 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Balance of a (lot, location) pair covering every movement up to the
+ * watermark of {@code snapshotRun}. A new row is inserted per snapshot run
+ * instead of updating the previous one; superseded rows are pruned once no
+ * read can still be pinned to them.
+ */
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(uniqueConstraints = {
+	@UniqueConstraint(name = "uk_stock_snapshot_lot_location_run", columnNames = {"lot_id", "location_id", "snapshot_run"})
+}, indexes = {
+	@Index(name = "idx_stock_snapshot_run", columnList = "snapshot_run"),
+	@Index(name = "idx_stock_snapshot_product_id", columnList = "product_id, snapshot_run"),
+	@Index(name = "idx_stock_snapshot_location_id", columnList = "location_id, snapshot_run")
+})
+public class StockSnapshot {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_seq")
+	@SequenceGenerator(name = "stock_snapshot_seq", sequenceName = "stock_snapshot_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(nullable = false, updatable = false)
+	private UUID productId;
+
+	@Column(nullable = false, updatable = false)
+	private UUID lotId;
+
+	@Column(nullable = false, updatable = false)
+	private UUID locationId;
+
+	@Column(nullable = false, updatable = false)
+	private Long quantity;
+
+	@Column(nullable = false, updatable = false)
+	private Long snapshotRun;
+
+	@CreationTimestamp
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,45 @@
+package com.brisa.controleEstoque.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One snapshot run. Its snapshot rows cover every movement created up to
+ * {@code foldedThrough}; the latest run's watermark splits the ledger into
+ * folded rows and the tail, so movements never need marking.
+ */
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockSnapshotRun implements Persistable<Long> {
+
+	// One more than the previous run, so two instances taking the same run collide on the key
+	@Id
+	private Long id;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime foldedThrough;
+
+	@CreationTimestamp
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	// Runs are only ever inserted: save() persists instead of merging into a run already taken
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+
+}
@@ -9,6 +9,8 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.brisa.controleEstoque.entity.enums.Role;
+import com.brisa.controleEstoque.security.PrincipalCacheInvalidationListener;
+import com.brisa.controleEstoque.entity.id.UuidV7Id;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -17,6 +19,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +27,7 @@ import java.util.UUID;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,8 @@
+package com.brisa.controleEstoque.entity.enums;
+
+public enum ItemStatus {
+    AVAILABLE,
+    RESERVED,
+    IN_TRANSIT,
+    CONSUMED
+}
@@ -0,0 +1,8 @@
+package com.brisa.controleEstoque.entity.enums;
+
+public enum MovementType {
+    RECEIPT,
+    ISSUE,
+    TRANSFER,
+    ADJUSTMENT
+}
@@ -0,0 +1,9 @@
+package com.brisa.controleEstoque.entity.enums;
+
+public enum SchemaJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,5 @@
+package com.brisa.controleEstoque.entity.enums;
+
+public enum SchemaJobType {
+    APPLY_DEFAULT
+}
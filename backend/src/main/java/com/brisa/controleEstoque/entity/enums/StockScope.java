@@ -0,0 +1,7 @@
+package com.brisa.controleEstoque.entity.enums;
+
+public enum StockScope {
+    PRODUCT,
+    LOT,
+    LOCATION
+}
@@ -0,0 +1,10 @@
+package com.brisa.controleEstoque.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final Long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,18 @@
+package com.brisa.controleEstoque.facet;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of one facet query.
+ *
+ * @param itemCount    items matching every filter
+ * @param productCount distinct products among those items
+ * @param counts       attribute id to value to matching items
+ */
+public record FacetCounts(long itemCount, long productCount, Map<UUID, Map<String, Long>> counts) {
+
+    public static FacetCounts empty() {
+        return new FacetCounts(0, 0, Map.of());
+    }
+}
@@ -0,0 +1,221 @@
+package com.brisa.controleEstoque.facet;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process facet counts over the SELECT and BOOLEAN attribute values of
+ * items, one {@link TypeFacetIndex} per type. Only attributes linked to the
+ * item's type are counted. Item writes are applied after commit;
+ * {@link #rebuild()} reloads everything from item_attribute.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than a monitor, so a virtual thread
+ * waiting on it unmounts instead of pinning its carrier.
+ */
+@Component
+public class FacetIndex {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String ITEM_ROWS_SQL =
+            "SELECT i.id, i.product_id, p.type_id, ia.attribute_id, ia.value_text, ia.value_boolean "
+            + "FROM item i "
+            + "JOIN product p ON p.id = i.product_id "
+            + "LEFT JOIN item_attribute ia ON ia.item_id = i.id "
+            + "AND (ia.value_boolean IS NOT NULL "
+            + "OR ia.attribute_id IN (SELECT a.id FROM attribute a WHERE a.data_type = 'SELECT')) "
+            + "AND ia.attribute_id IN (SELECT ta.attribute_id FROM type_attribute ta WHERE ta.type_id = p.type_id) ";
+
+    private static final String REBUILD_SQL = ITEM_ROWS_SQL + "ORDER BY i.id";
+
+    private static final String PRODUCT_ITEMS_SQL = ITEM_ROWS_SQL + "WHERE i.product_id = ? ORDER BY i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<UUID, TypeFacetIndex> indexes = new ConcurrentHashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    // Writes that commit while a rebuild is reading; replayed on the new indexes
+    private List<Runnable> pending;
+
+    public FacetIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public FacetCounts count(UUID typeId, Map<UUID, Set<String>> filters) {
+        TypeFacetIndex index = indexes.get(typeId);
+        return index != null ? index.count(filters) : FacetCounts.empty();
+    }
+
+    /**
+     * Indexes the item once the surrounding transaction commits.
+     *
+     * @param values attribute id to value, SELECT and BOOLEAN attributes only
+     */
+    public void put(UUID typeId, UUID itemId, UUID productId, Map<UUID, String> values) {
+        Map<UUID, String> copy = Map.copyOf(values);
+        afterCommit(() -> indexes.computeIfAbsent(typeId, id -> new TypeFacetIndex()).put(itemId, productId, copy));
+    }
+
+    /** Gives the items the value unless they already hold one for the attribute, after commit. */
+    public void addIfAbsent(UUID typeId, List<UUID> itemIds, UUID attributeId, String value) {
+        List<UUID> copy = List.copyOf(itemIds);
+        afterCommit(() -> {
+            TypeFacetIndex index = indexes.get(typeId);
+            if (index != null) {
+                copy.forEach(itemId -> index.addIfAbsent(itemId, attributeId, value));
+            }
+        });
+    }
+
+    public void remove(UUID typeId, UUID itemId) {
+        afterCommit(() -> {
+            TypeFacetIndex index = indexes.get(typeId);
+            if (index != null) {
+                index.remove(itemId);
+            }
+        });
+    }
+
+    /** Forgets the attribute's values once it is unlinked from the type, after commit. */
+    public void removeAttribute(UUID typeId, UUID attributeId) {
+        afterCommit(() -> {
+            TypeFacetIndex index = indexes.get(typeId);
+            if (index != null) {
+                index.removeAttribute(attributeId);
+            }
+        });
+    }
+
+    /**
+     * Moves a product's items from the old type's index to the one of the type
+     * the product now has. Their values are read now, inside the transaction
+     * that changed the type, and applied after commit.
+     */
+    public void moveProduct(UUID productId, UUID fromTypeId) {
+        List<IndexedItem> moved = new ArrayList<>();
+        ItemRows rows = new ItemRows(moved::add);
+        jdbcTemplate.query(PRODUCT_ITEMS_SQL, resultSet -> {
+            rows.add(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class),
+                    resultSet.getObject(3, UUID.class), resultSet.getObject(4, UUID.class),
+                    resultSet.getString(5), (Boolean) resultSet.getObject(6));
+        }, productId);
+        rows.flush();
+        afterCommit(() -> {
+            TypeFacetIndex previous = indexes.get(fromTypeId);
+            for (IndexedItem item : moved) {
+                if (previous != null) {
+                    previous.remove(item.itemId());
+                }
+                indexes.computeIfAbsent(item.typeId(), id -> new TypeFacetIndex())
+                        .put(item.itemId(), item.productId(), item.values());
+            }
+        });
+    }
+
+    // Read-write on purpose: a lagging replica could miss writes committed before the pending list exists
+    @Transactional
+    public void rebuild() {
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        Map<UUID, TypeFacetIndex> rebuilt = new ConcurrentHashMap<>();
+        ItemRows rows = new ItemRows(item -> rebuilt.computeIfAbsent(item.typeId(), id -> new TypeFacetIndex())
+                .put(item.itemId(), item.productId(), item.values()));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REBUILD_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            rows.add(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class),
+                    resultSet.getObject(3, UUID.class), resultSet.getObject(4, UUID.class),
+                    resultSet.getString(5), (Boolean) resultSet.getObject(6));
+        });
+        rows.flush();
+        lock.lock();
+        try {
+            indexes = rebuilt;
+            pending.forEach(Runnable::run);
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            lock.lock();
+            try {
+                change.run();
+                if (pending != null) {
+                    pending.add(change);
+                }
+            } finally {
+                lock.unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private record IndexedItem(UUID typeId, UUID itemId, UUID productId, Map<UUID, String> values) {
+    }
+
+    /** Collects the rows of one item (they arrive together, ordered by item id). */
+    private static final class ItemRows {
+        private final Consumer<IndexedItem> target;
+        private UUID itemId;
+        private UUID productId;
+        private UUID typeId;
+        private Map<UUID, String> values = new HashMap<>();
+
+        ItemRows(Consumer<IndexedItem> target) {
+            this.target = target;
+        }
+
+        void add(UUID itemId, UUID productId, UUID typeId, UUID attributeId, String text, Boolean bool) {
+            if (!itemId.equals(this.itemId)) {
+                flush();
+                this.itemId = itemId;
+                this.productId = productId;
+                this.typeId = typeId;
+            }
+            if (attributeId != null) {
+                values.put(attributeId, bool != null ? bool.toString() : text);
+            }
+        }
+
+        void flush() {
+            if (itemId != null) {
+                target.accept(new IndexedItem(typeId, itemId, productId, values));
+                itemId = null;
+                values = new HashMap<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.brisa.controleEstoque.facet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Bitmaps of one type's items. Each item gets a dense ordinal the first time
+ * it is indexed; every (attribute, value) pair and every product keeps the
+ * set of ordinals that carry it. Ordinals of removed items are only
+ * reclaimed by the next rebuild.
+ */
+class TypeFacetIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    private final RoaringBitmap items = new RoaringBitmap();
+    private final Map<UUID, Map<String, RoaringBitmap>> values = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> products = new HashMap<>();
+    private int nextOrdinal;
+
+    /** Replaces everything indexed for {@code itemId}. */
+    void put(UUID itemId, UUID productId, Map<UUID, String> itemValues) {
+        lock.writeLock().lock();
+        try {
+            Slot previous = slots.get(itemId);
+            int ordinal = previous != null ? previous.ordinal() : nextOrdinal++;
+            if (previous != null) {
+                clear(previous);
+            }
+            slots.put(itemId, new Slot(ordinal, productId));
+            items.add(ordinal);
+            products.computeIfAbsent(productId, id -> new RoaringBitmap()).add(ordinal);
+            for (Map.Entry<UUID, String> value : itemValues.entrySet()) {
+                values.computeIfAbsent(value.getKey(), id -> new HashMap<>())
+                        .computeIfAbsent(value.getValue(), v -> new RoaringBitmap())
+                        .add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds one value to an indexed item that has none for the attribute yet. */
+    void addIfAbsent(UUID itemId, UUID attributeId, String value) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = slots.get(itemId);
+            if (slot == null) {
+                return;
+            }
+            Map<String, RoaringBitmap> byValue = values.computeIfAbsent(attributeId, id -> new HashMap<>());
+            for (RoaringBitmap bitmap : byValue.values()) {
+                if (bitmap.contains(slot.ordinal())) {
+                    return;
+                }
+            }
+            byValue.computeIfAbsent(value, v -> new RoaringBitmap()).add(slot.ordinal());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID itemId) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = slots.remove(itemId);
+            if (slot != null) {
+                clear(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAttribute(UUID attributeId) {
+        lock.writeLock().lock();
+        try {
+            values.remove(attributeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear(Slot slot) {
+        int ordinal = slot.ordinal();
+        items.remove(ordinal);
+        RoaringBitmap product = products.get(slot.productId());
+        if (product != null) {
+            product.remove(ordinal);
+            if (product.isEmpty()) {
+                products.remove(slot.productId());
+            }
+        }
+        for (Map<String, RoaringBitmap> byValue : values.values()) {
+            byValue.values().removeIf(bitmap -> {
+                bitmap.remove(ordinal);
+                return bitmap.isEmpty();
+            });
+        }
+    }
+
+    /**
+     * Counts every indexed value under {@code filters} (attribute to accepted
+     * values; values of one attribute are OR-ed, attributes are AND-ed). A
+     * facet's own filter is left out of its counts so the other values of a
+     * filtered attribute stay selectable.
+     */
+    FacetCounts count(Map<UUID, Set<String>> filters) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matching = matching(filters, null);
+            long productCount = products.values().stream()
+                    .filter(bitmap -> RoaringBitmap.intersects(bitmap, matching))
+                    .count();
+
+            Map<UUID, Map<String, Long>> counts = new HashMap<>();
+            for (Map.Entry<UUID, Map<String, RoaringBitmap>> attribute : values.entrySet()) {
+                RoaringBitmap base = filters.containsKey(attribute.getKey())
+                        ? matching(filters, attribute.getKey())
+                        : matching;
+                Map<String, Long> byValue = new HashMap<>();
+                attribute.getValue().forEach((value, bitmap) ->
+                        byValue.put(value, (long) RoaringBitmap.andCardinality(base, bitmap)));
+                counts.put(attribute.getKey(), byValue);
+            }
+            return new FacetCounts(matching.getLongCardinality(), productCount, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Slot(int ordinal, UUID productId) {
+    }
+
+    private RoaringBitmap matching(Map<UUID, Set<String>> filters, UUID skipAttribute) {
+        RoaringBitmap result = items.clone();
+        for (Map.Entry<UUID, Set<String>> filter : filters.entrySet()) {
+            if (filter.getKey().equals(skipAttribute)) {
+                continue;
+            }
+            Map<String, RoaringBitmap> byValue = values.getOrDefault(filter.getKey(), Map.of());
+            RoaringBitmap accepted = new RoaringBitmap();
+            for (String value : filter.getValue()) {
+                RoaringBitmap bitmap = byValue.get(value);
+                if (bitmap != null) {
+                    accepted.or(bitmap);
+                }
+            }
+            result.and(accepted);
+        }
+        return result;
+    }
+}
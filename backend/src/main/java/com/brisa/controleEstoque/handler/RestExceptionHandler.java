@@ -22,6 +22,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import com.brisa.controleEstoque.exceptions.EmailAlreadyExistsException;
 import com.brisa.controleEstoque.exceptions.InvalidCredentialsException;
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
 import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceInternalServerErrorException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
@@ -52,6 +53,16 @@ public class RestExceptionHandler {
                         ex.getMessage()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ErrorResponse.of(
+                        HttpStatus.PRECONDITION_FAILED.value(),
+                        "Precondition Failed",
+                        ex.getMessage()));
+    }
+
     @ExceptionHandler(ResourceInternalServerErrorException.class)
     public ResponseEntity<ErrorResponse> handleResourceInternalServerErrorException(
             ResourceInternalServerErrorException ex, WebRequest request) {
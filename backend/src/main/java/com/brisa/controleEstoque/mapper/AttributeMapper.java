@@ -21,6 +21,10 @@ public interface AttributeMapper {
     @Mapping(target = "updatedAt", ignore = true)
     Attribute toEntity(RequestAttributeDTO dto);
 
+    // Per-type settings live on the type link, a bare attribute has none
+    @Mapping(target = "isRequired", ignore = true)
+    @Mapping(target = "defaultValue", ignore = true)
+    @Mapping(target = "isUnique", ignore = true)
     ResponseAttributeDTO toDto(Attribute entity);
 
     @Mapping(target = "id", ignore = true)
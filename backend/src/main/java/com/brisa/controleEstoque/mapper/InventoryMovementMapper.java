@@ -0,0 +1,21 @@
+package com.brisa.controleEstoque.mapper;
+
+import com.brisa.controleEstoque.dto.responses.ResponseMovementDTO;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.springframework.stereotype.Component;
+
+@Component
+@Mapper(
+    componentModel = "spring",
+    unmappedTargetPolicy = ReportingPolicy.WARN
+)
+public interface InventoryMovementMapper {
+    @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "lotId", source = "lot.id")
+    @Mapping(target = "locationId", source = "location.id")
+    ResponseMovementDTO toDto(InventoryMovement entity);
+}
@@ -0,0 +1,35 @@
+package com.brisa.controleEstoque.mapper;
+
+import com.brisa.controleEstoque.dto.responses.ResponseItemDTO;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Mapper(
+    componentModel = "spring",
+    unmappedTargetPolicy = ReportingPolicy.WARN,
+    nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
+)
+public interface ItemMapper {
+    @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "lotId", source = "lot.id")
+    @Mapping(target = "locationId", source = "location.id")
+    ResponseItemDTO toDto(Item entity);
+
+    default Map<UUID, Object> toValues(List<ItemAttribute> attributes) {
+        Map<UUID, Object> values = new LinkedHashMap<>();
+        if (attributes != null) {
+            attributes.forEach(attribute -> values.put(attribute.getAttribute().getId(), attribute.getValue()));
+        }
+        return values;
+    }
+}
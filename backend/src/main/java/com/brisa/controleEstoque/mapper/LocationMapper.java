@@ -10,6 +10,14 @@ import com.brisa.controleEstoque.dto.requests.RequestLocationDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseLocationDTO;
 import com.brisa.controleEstoque.entity.Location;
 
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @Mapper(
     componentModel = "spring", 
     unmappedTargetPolicy = ReportingPolicy.WARN,
@@ -17,13 +25,37 @@ import com.brisa.controleEstoque.entity.Location;
 )
 public interface LocationMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Location toEntity(RequestLocationDTO dto);
 
     ResponseLocationDTO toDto(Location entity);
 
+    /** Columns read by {@link #fromRow(Tuple)}. */
+    static List<Selection<?>> listColumns(Root<Location> root) {
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("description").alias("description"),
+                root.get("isActive").alias("isActive"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"));
+    }
+
+    default ResponseLocationDTO fromRow(Tuple row) {
+        ResponseLocationDTO dto = new ResponseLocationDTO();
+        dto.setId(row.get("id", UUID.class));
+        dto.setName(row.get("name", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setIsActive(row.get("isActive", Boolean.class));
+        dto.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+        dto.setUpdatedAt(row.get("updatedAt", LocalDateTime.class));
+        return dto;
+    }
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromDto(RequestLocationDTO dto, @MappingTarget Location entity);
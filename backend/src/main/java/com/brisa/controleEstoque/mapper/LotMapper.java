@@ -4,6 +4,14 @@ import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseLotDTO;
 import com.brisa.controleEstoque.entity.Lot;
 
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -20,15 +28,44 @@ import org.springframework.stereotype.Component;
 public interface LotMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Lot toEntity(RequestLotDTO dto);
 
     @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "onHand", ignore = true)
+    @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "available", ignore = true)
     ResponseLotDTO toDto(Lot entity);
 
+    /** Columns read by {@link #fromRow(Tuple)}; {@code product.id} is the foreign key, no join. */
+    static List<Selection<?>> listColumns(Root<Lot> root) {
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("product").get("id").alias("productId"),
+                root.get("lotNumber").alias("lotNumber"),
+                root.get("manufacturingDate").alias("manufacturingDate"),
+                root.get("expirationDate").alias("expirationDate"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"));
+    }
+
+    default ResponseLotDTO fromRow(Tuple row) {
+        ResponseLotDTO dto = new ResponseLotDTO();
+        dto.setId(row.get("id", UUID.class));
+        dto.setProductId(row.get("productId", UUID.class));
+        dto.setLotNumber(row.get("lotNumber", String.class));
+        dto.setManufacturingDate(row.get("manufacturingDate", LocalDateTime.class));
+        dto.setExpirationDate(row.get("expirationDate", LocalDateTime.class));
+        dto.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+        dto.setUpdatedAt(row.get("updatedAt", LocalDateTime.class));
+        return dto;
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromDto(RequestLotDTO dto, @MappingTarget Lot entity);
@@ -3,6 +3,14 @@ package com.brisa.controleEstoque.mapper;
 import com.brisa.controleEstoque.dto.requests.RequestProductDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseProductDTO;
 import com.brisa.controleEstoque.entity.Product;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.UUID;
+
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -17,15 +25,42 @@ import org.mapstruct.ReportingPolicy;
 public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "type", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "description", source = "description")
     Product toEntity(RequestProductDTO dto);
 
     @Mapping(target = "typeId", source = "type.id")
     @Mapping(target = "description", source = "description")
+    @Mapping(target = "onHand", ignore = true)
+    @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "available", ignore = true)
     ResponseProductDTO toDto(Product entity);
 
+    /** Columns read by {@link #fromRow(Tuple)}; {@code type.id} is the foreign key, no join. */
+    static List<Selection<?>> listColumns(Root<Product> root) {
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("type").get("id").alias("typeId"),
+                root.get("description").alias("description"));
+    }
+
+    default ResponseProductDTO fromRow(Tuple row) {
+        ResponseProductDTO dto = new ResponseProductDTO();
+        dto.setId(row.get("id", UUID.class));
+        dto.setName(row.get("name", String.class));
+        dto.setTypeId(row.get("typeId", UUID.class));
+        dto.setDescription(row.get("description", String.class));
+        return dto;
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "type", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "description", source = "description")
     void updateEntityFromDto(RequestProductDTO dto, @MappingTarget Product entity);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.brisa.controleEstoque.mapper;
+
+import com.brisa.controleEstoque.dto.responses.ResponseSchemaJobDTO;
+import com.brisa.controleEstoque.entity.SchemaChangeJob;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+    componentModel = "spring",
+    unmappedTargetPolicy = ReportingPolicy.WARN
+)
+public interface SchemaChangeJobMapper {
+    ResponseSchemaJobDTO toDto(SchemaChangeJob entity);
+}
@@ -0,0 +1,20 @@
+package com.brisa.controleEstoque.mapper;
+
+import com.brisa.controleEstoque.dto.responses.ResponseStockLevelDTO;
+import com.brisa.controleEstoque.entity.StockLevel;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.springframework.stereotype.Component;
+
+@Component
+@Mapper(
+    componentModel = "spring",
+    unmappedTargetPolicy = ReportingPolicy.WARN
+)
+public interface StockLevelMapper {
+    @Mapping(target = "scope", source = "id.scope")
+    @Mapping(target = "refId", source = "id.refId")
+    ResponseStockLevelDTO toDto(StockLevel entity);
+}
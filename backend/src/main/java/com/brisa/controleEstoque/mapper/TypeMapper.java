@@ -3,6 +3,14 @@ package com.brisa.controleEstoque.mapper;
 import com.brisa.controleEstoque.dto.requests.RequestTypeDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseTypeDTO;
 import com.brisa.controleEstoque.entity.Type;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.UUID;
+
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,13 +24,35 @@ import org.mapstruct.ReportingPolicy;
 )
 public interface TypeMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "description", source = "description")
     Type toEntity(RequestTypeDTO dto);
 
     @Mapping(target = "description", source = "description")
     ResponseTypeDTO toDto(Type entity);
 
+    /** Columns read by {@link #fromRow(Tuple)}. */
+    static List<Selection<?>> listColumns(Root<Type> root) {
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("description").alias("description"));
+    }
+
+    default ResponseTypeDTO fromRow(Tuple row) {
+        ResponseTypeDTO dto = new ResponseTypeDTO();
+        dto.setId(row.get("id", UUID.class));
+        dto.setName(row.get("name", String.class));
+        dto.setDescription(row.get("description", String.class));
+        return dto;
+    }
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "description", source = "description")
     void updateEntityFromDto(RequestTypeDTO dto, @MappingTarget Type entity);
 }
\ No newline at end of file
@@ -3,15 +3,41 @@ package com.brisa.controleEstoque.repository;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.brisa.controleEstoque.entity.Attribute;
 import com.brisa.controleEstoque.entity.enums.AttributeDataType;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AttributeRepository extends JpaRepository<Attribute, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Attribute> findByName(String name);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Attribute> findByNameAndDataType(String name, AttributeDataType dataType);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Attribute> findByNameAndDataTypeAndOptions(String name, AttributeDataType dataType, String options);
+
+    /**
+     * PostgreSQL only: relies on the uk_attribute_identity expression index created at startup.
+     * The query space limits second-level cache invalidation to the attribute table.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attribute"))
+    @Query(value = "INSERT INTO attribute (id, name, description, data_type, options, created_at, updated_at) " +
+            "VALUES (:id, :name, CAST(:description AS varchar), :dataType, CAST(:options AS varchar), now(), now()) " +
+            "ON CONFLICT (name, data_type, (COALESCE(options, ''))) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("name") String name, @Param("description") String description,
+            @Param("dataType") String dataType, @Param("options") String options);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Attribute a WHERE a.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
 } 
\ No newline at end of file
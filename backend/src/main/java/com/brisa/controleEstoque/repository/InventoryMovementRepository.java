@@ -0,0 +1,31 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.dto.responses.ResponseStockDTO;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long>, JpaSpecificationExecutor<InventoryMovement> {
+
+    @Query("SELECT new com.brisa.controleEstoque.dto.responses.ResponseStockDTO(m.product.id, m.lot.id, m.location.id, SUM(m.quantity)) " +
+           "FROM InventoryMovement m WHERE m.createdAt > :after AND m.createdAt <= :through " +
+           "GROUP BY m.product.id, m.lot.id, m.location.id")
+    List<ResponseStockDTO> sumByKeyBetween(@Param("after") LocalDateTime after, @Param("through") LocalDateTime through);
+
+    @Query("SELECT new com.brisa.controleEstoque.dto.responses.ResponseStockDTO(m.product.id, m.lot.id, m.location.id, SUM(m.quantity)) " +
+           "FROM InventoryMovement m WHERE m.createdAt > :watermark " +
+           "AND (:productId IS NULL OR m.product.id = :productId) " +
+           "AND (:lotId IS NULL OR m.lot.id = :lotId) " +
+           "AND (:locationId IS NULL OR m.location.id = :locationId) " +
+           "GROUP BY m.product.id, m.lot.id, m.location.id")
+    List<ResponseStockDTO> sumByKeyAfter(@Param("watermark") LocalDateTime watermark, @Param("productId") UUID productId,
+            @Param("lotId") UUID lotId, @Param("locationId") UUID locationId);
+}
@@ -0,0 +1,42 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.Item;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ItemRepository extends JpaRepository<Item, UUID>, JpaSpecificationExecutor<Item> {
+    boolean existsBySerialNumber(String serialNumber);
+
+    boolean existsByLotId(UUID lotId);
+
+    /** Whether some item of the type holds no value for the attribute. */
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM Item i "
+            + "WHERE i.product.type.id = :typeId "
+            + "AND NOT EXISTS (SELECT 1 FROM ItemAttribute ia WHERE ia.item = i AND ia.attribute.id = :attributeId)")
+    boolean existsByTypeIdWithoutAttribute(@Param("typeId") UUID typeId, @Param("attributeId") UUID attributeId);
+
+    @Query("SELECT i.product.type.id FROM Item i WHERE i.id = :id")
+    Optional<UUID> findTypeIdById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ItemAttribute ia WHERE ia.item.id = :id")
+    int deleteAttributesById(@Param("id") UUID id);
+
+    /** Removes the attribute's values from the type's items, leaving those of other types alone. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ItemAttribute ia WHERE ia.attribute.id = :attributeId "
+            + "AND ia.item.id IN (SELECT i.id FROM Item i WHERE i.product.type.id = :typeId)")
+    int deleteAttributeValuesByTypeId(@Param("typeId") UUID typeId, @Param("attributeId") UUID attributeId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
+}
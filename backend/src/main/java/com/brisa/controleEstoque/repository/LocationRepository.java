@@ -3,13 +3,25 @@ package com.brisa.controleEstoque.repository;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.brisa.controleEstoque.entity.Location;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface LocationRepository extends JpaRepository<Location, UUID>, JpaSpecificationExecutor<Location> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Location> findByName(String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Location l WHERE l.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
 }
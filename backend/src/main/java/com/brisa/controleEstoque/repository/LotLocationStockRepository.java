@@ -0,0 +1,34 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.LotLocationStock;
+import com.brisa.controleEstoque.entity.LotLocationStock.LotLocationStockId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LotLocationStockRepository extends JpaRepository<LotLocationStock, LotLocationStockId> {
+
+    // PostgreSQL only: creates the row or adds to it in one statement, like StockLevelRepository.upsertOnHand
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO lot_location_stock (lot_id, location_id, on_hand, updated_at) " +
+           "VALUES (:lotId, :locationId, :delta, CURRENT_TIMESTAMP) " +
+           "ON CONFLICT (lot_id, location_id) DO UPDATE SET on_hand = lot_location_stock.on_hand + EXCLUDED.on_hand, " +
+           "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsertOnHand(@Param("lotId") UUID lotId, @Param("locationId") UUID locationId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LotLocationStock s SET s.onHand = s.onHand + :delta, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.lotId = :lotId AND s.id.locationId = :locationId")
+    int addOnHand(@Param("lotId") UUID lotId, @Param("locationId") UUID locationId, @Param("delta") long delta);
+
+    // Only succeeds while the lot holds at least the quantity at the location
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LotLocationStock s SET s.onHand = s.onHand - :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.lotId = :lotId AND s.id.locationId = :locationId AND s.onHand >= :quantity")
+    int removeOnHand(@Param("lotId") UUID lotId, @Param("locationId") UUID locationId, @Param("quantity") long quantity);
+}
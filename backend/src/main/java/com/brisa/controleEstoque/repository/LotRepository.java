@@ -3,6 +3,9 @@ package com.brisa.controleEstoque.repository;
 import com.brisa.controleEstoque.entity.Lot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
@@ -10,4 +13,8 @@ import java.util.UUID;
 @Repository
 public interface LotRepository extends JpaRepository<Lot, UUID>, JpaSpecificationExecutor<Lot> {
     boolean existsByLotNumber(String lotNumber);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Lot l WHERE l.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
 }
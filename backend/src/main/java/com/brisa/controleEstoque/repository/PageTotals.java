@@ -0,0 +1,133 @@
+package com.brisa.controleEstoque.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Totals for paged lists. Exact counts are cached per entity and normalized
+ * filter for a short TTL; the services writing an entity evict its counts
+ * immediately and again when the transaction completes. Estimates come from
+ * PostgreSQL's planner statistics and only apply to unfiltered lists of large
+ * tables, where a count(*) scans the whole table.
+ */
+@Component
+public class PageTotals {
+
+    private static final String ESTIMATE_SQL =
+            "SELECT (SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(quote_ident(?)))";
+
+    private record Key(Class<?> entity, List<Object> filter) {
+    }
+
+    private final Cache<Key, Long> counts;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final long estimateMinRows;
+    private final Map<Class<?>, String> tables = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+
+    public PageTotals(
+            MeterRegistry meterRegistry,
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.paging.count-cache.max-size:1000}") long maxSize,
+            @Value("${app.paging.count-cache.ttl:10s}") Duration ttl,
+            @Value("${app.paging.estimate-min-rows:100000}") long estimateMinRows) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "page-counts");
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.estimateMinRows = estimateMinRows;
+    }
+
+    /**
+     * Cache key for a list's filters: strings are trimmed and lower-cased,
+     * blanks become null, so equivalent requests share an entry.
+     */
+    public static List<Object> filterKey(Object... values) {
+        return Arrays.stream(values)
+                .map(value -> value instanceof String text
+                        ? (text.isBlank() ? null : text.trim().toLowerCase())
+                        : value)
+                .toList();
+    }
+
+    public long exact(Class<?> entity, List<Object> filter, LongSupplier count) {
+        return counts.get(new Key(entity, filter), key -> count.getAsLong());
+    }
+
+    /**
+     * Planner estimate of the table's row count when no filter is set. Falls
+     * back to the exact count elsewhere than PostgreSQL and below
+     * {@code app.paging.estimate-min-rows}, which also covers tables that were
+     * never analyzed.
+     */
+    public long estimate(Class<?> entity, List<Object> filter, LongSupplier count) {
+        if (filter.stream().allMatch(Objects::isNull) && isPostgres()) {
+            Long rows = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, tableName(entity));
+            if (rows != null && rows >= estimateMinRows) {
+                return rows;
+            }
+        }
+        return exact(entity, filter, count);
+    }
+
+    public void evict(Class<?> entity) {
+        Runnable evict = () -> counts.asMap().keySet().removeIf(key -> key.entity() == entity);
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private String tableName(Class<?> entity) {
+        return tables.computeIfAbsent(entity, type -> ((AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(type))
+                .getTableName());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                    (Connection connection) -> {
+                        DatabaseMetaData metaData = connection.getMetaData();
+                        return metaData.getDatabaseProductName();
+                    });
+            postgres = product != null && product.toLowerCase().contains("postgresql");
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,76 @@
+package com.brisa.controleEstoque.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Writes partial updates as a single UPDATE of the changed columns, without
+ * loading the entity first. The statement bumps the {@code version} column
+ * and, when an expected version is given, only matches that version, so a
+ * concurrent write is detected by the same statement.
+ */
+@Repository
+public class PatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param values entity attribute to new value; associations take a
+     *               reference from {@code getReferenceById}
+     * @return rows matched: 0 when the id is unknown or the version differs
+     */
+    public <T> int update(Class<T> entityClass, UUID id, Long expectedVersion, Map<String, Object> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (values.isEmpty()) {
+            // An empty patch writes nothing but still answers the preconditions
+            CriteriaQuery<Long> query = cb.createQuery(Long.class);
+            Root<T> root = query.from(entityClass);
+            query.select(cb.count(root)).where(matching(cb, root, id, expectedVersion));
+            return entityManager.createQuery(query).getSingleResult().intValue();
+        }
+
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = update.from(entityClass);
+        values.forEach((attribute, value) -> update.set(attribute, value));
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        // Bulk statements bypass @UpdateTimestamp
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.where(matching(cb, root, id, expectedVersion));
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        detach(entityClass, id);
+        return updated;
+    }
+
+    // The managed copy of the patched row, if any, is stale now; the rest of the context stays managed
+    private void detach(Class<?> entityClass, UUID id) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            entityManager.detach(managed);
+        }
+    }
+
+    private static Predicate matching(CriteriaBuilder cb, Root<?> root, UUID id, Long expectedVersion) {
+        Predicate byId = cb.equal(root.get("id"), id);
+        return expectedVersion == null ? byId : cb.and(byId, cb.equal(root.get("version"), expectedVersion));
+    }
+}
@@ -0,0 +1,53 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.SchemaChangeJob;
+import com.brisa.controleEstoque.entity.enums.SchemaJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SchemaChangeJobRepository extends JpaRepository<SchemaChangeJob, UUID> {
+
+    // RUNNING jobs whose last heartbeat is older than the lease were left behind by a stopped instance
+    @Query("SELECT j FROM SchemaChangeJob j WHERE j.status = :pending "
+            + "OR (j.status = :running AND j.updatedAt < :staleBefore) ORDER BY j.createdAt")
+    List<SchemaChangeJob> findRunnable(@Param("pending") SchemaJobStatus pending,
+            @Param("running") SchemaJobStatus running, @Param("staleBefore") LocalDateTime staleBefore,
+            Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchemaChangeJob j SET j.status = :running, j.updatedAt = CURRENT_TIMESTAMP, "
+            + "j.startedAt = COALESCE(j.startedAt, CURRENT_TIMESTAMP) "
+            + "WHERE j.id = :id AND (j.status = :pending OR (j.status = :running AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") UUID id, @Param("pending") SchemaJobStatus pending,
+            @Param("running") SchemaJobStatus running, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchemaChangeJob j SET j.checkpoint = :checkpoint, j.processed = j.processed + :processed, "
+            + "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id AND j.status = :running")
+    int advance(@Param("id") UUID id, @Param("checkpoint") UUID checkpoint, @Param("processed") long processed,
+            @Param("running") SchemaJobStatus running);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchemaChangeJob j SET j.status = :status, j.error = :error, j.finishedAt = CURRENT_TIMESTAMP, "
+            + "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id AND j.status = :running")
+    int finish(@Param("id") UUID id, @Param("status") SchemaJobStatus status, @Param("error") String error,
+            @Param("running") SchemaJobStatus running);
+
+    // Status changes from the API go through conditional updates so they never overwrite the runner's progress
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchemaChangeJob j SET j.status = :to, j.error = :error, j.finishedAt = :finishedAt, "
+            + "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id AND j.status IN :from")
+    int transition(@Param("id") UUID id, @Param("from") Collection<SchemaJobStatus> from,
+            @Param("to") SchemaJobStatus to, @Param("error") String error,
+            @Param("finishedAt") LocalDateTime finishedAt);
+}
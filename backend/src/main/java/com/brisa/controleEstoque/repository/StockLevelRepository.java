@@ -0,0 +1,64 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.StockLevel;
+import com.brisa.controleEstoque.entity.StockLevel.StockLevelId;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockLevelRepository extends JpaRepository<StockLevel, StockLevelId> {
+
+    List<StockLevel> findByIdScopeAndIdRefIdIn(StockScope scope, Collection<UUID> refIds);
+
+    @Query("SELECT MAX(s.updatedAt) FROM StockLevel s WHERE s.id.scope = :scope")
+    LocalDateTime findLastModified(@Param("scope") StockScope scope);
+
+    // PostgreSQL only: creates the row or adds to it in one statement, so two first
+    // movements of the same lot or location cannot both insert
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO stock_level (scope, ref_id, on_hand, reserved, updated_at) " +
+           "VALUES (:scope, :refId, :delta, 0, CURRENT_TIMESTAMP) " +
+           "ON CONFLICT (scope, ref_id) DO UPDATE SET on_hand = stock_level.on_hand + EXCLUDED.on_hand, " +
+           "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsertOnHand(@Param("scope") String scope, @Param("refId") UUID refId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockLevel s SET s.onHand = s.onHand + :delta, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.scope = :scope AND s.id.refId = :refId")
+    int addOnHand(@Param("scope") StockScope scope, @Param("refId") UUID refId, @Param("delta") long delta);
+
+    // Only succeeds while the row keeps enough unreserved stock
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockLevel s SET s.onHand = s.onHand - :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.scope = :scope AND s.id.refId = :refId AND s.onHand - s.reserved >= :quantity")
+    int removeAvailable(@Param("scope") StockScope scope, @Param("refId") UUID refId, @Param("quantity") long quantity);
+
+    // Only succeeds while the row holds at least the quantity, reserved or not
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockLevel s SET s.onHand = s.onHand - :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.scope = :scope AND s.id.refId = :refId AND s.onHand >= :quantity")
+    int removeOnHand(@Param("scope") StockScope scope, @Param("refId") UUID refId, @Param("quantity") long quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockLevel s SET s.reserved = s.reserved + :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.scope = :scope AND s.id.refId = :refId AND s.onHand - s.reserved >= :quantity")
+    int reserve(@Param("scope") StockScope scope, @Param("refId") UUID refId, @Param("quantity") long quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockLevel s SET s.reserved = s.reserved - :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id.scope = :scope AND s.id.refId = :refId AND s.reserved >= :quantity")
+    int release(@Param("scope") StockScope scope, @Param("refId") UUID refId, @Param("quantity") long quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StockLevel s WHERE s.id.scope = :scope AND s.id.refId = :refId")
+    int deleteByScopeAndRefId(@Param("scope") StockScope scope, @Param("refId") UUID refId);
+}
@@ -0,0 +1,39 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    @Query("SELECT s FROM StockSnapshot s WHERE " +
+           "(:productId IS NULL OR s.productId = :productId) " +
+           "AND (:lotId IS NULL OR s.lotId = :lotId) " +
+           "AND (:locationId IS NULL OR s.locationId = :locationId) " +
+           "AND s.snapshotRun = (SELECT MAX(s2.snapshotRun) FROM StockSnapshot s2 " +
+           "WHERE s2.lotId = s.lotId AND s2.locationId = s.locationId AND s2.snapshotRun <= :watermark)")
+    List<StockSnapshot> findLatest(@Param("productId") UUID productId, @Param("lotId") UUID lotId,
+            @Param("locationId") UUID locationId, @Param("watermark") long watermark);
+
+    @Query("SELECT s FROM StockSnapshot s WHERE s.lotId IN :lotIds " +
+           "AND s.snapshotRun = (SELECT MAX(s2.snapshotRun) FROM StockSnapshot s2 " +
+           "WHERE s2.lotId = s.lotId AND s2.locationId = s.locationId AND s2.snapshotRun <= :watermark)")
+    List<StockSnapshot> findLatestForLots(@Param("lotIds") Collection<UUID> lotIds, @Param("watermark") long watermark);
+
+    // A row goes once a newer one for the same pair has existed since before the cutoff:
+    // any read still pinned below that newer run started before it and is long finished
+    @Modifying
+    @Query(value = "DELETE FROM stock_snapshot s WHERE s.created_at < :before AND EXISTS (" +
+           "SELECT 1 FROM stock_snapshot n WHERE n.lot_id = s.lot_id AND n.location_id = s.location_id " +
+           "AND n.snapshot_run > s.snapshot_run AND n.created_at < :before)", nativeQuery = true)
+    int deleteSupersededBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package com.brisa.controleEstoque.repository;
+
+import com.brisa.controleEstoque.entity.StockSnapshotRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRunRepository extends JpaRepository<StockSnapshotRun, Long> {
+
+    /** Latest run committed so far, empty before the first run. */
+    Optional<StockSnapshotRun> findFirstByOrderByIdDesc();
+}
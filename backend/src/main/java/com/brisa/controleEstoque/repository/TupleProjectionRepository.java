@@ -0,0 +1,166 @@
+package com.brisa.controleEstoque.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Runs an entity's filter {@link Specification} as a column projection, so
+ * large reads never materialize or track entities in the persistence context.
+ */
+@Repository
+public class TupleProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PageTotals pageTotals;
+
+    public TupleProjectionRepository(PageTotals pageTotals) {
+        this.pageTotals = pageTotals;
+    }
+
+    /**
+     * Forward-only stream over the matching rows in ascending {@code orderBy}
+     * order, fetched {@code fetchSize} at a time. Must be consumed and closed inside a transaction so PostgreSQL
+     * serves it from a server-side cursor.
+     */
+    public <T> Stream<Tuple> stream(Class<T> entityClass, Specification<T> spec,
+            Function<Root<T>, List<Selection<?>>> columns,
+            List<String> orderBy, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(columns.apply(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Applied after the specification so the export order always wins
+        query.orderBy(orderBy.stream().map(field -> cb.asc(root.get(field))).toList());
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * One page of the matching rows in the pageable's sort order. The total
+     * depends on {@code mode}: {@link CountMode#NONE} reads one extra row
+     * instead and returns a {@link Slice}; the other modes go through
+     * {@link PageTotals} with {@code filterKey} naming the filters, and skip
+     * the count entirely when the page already shows it is the last one.
+     */
+    public <T> Slice<Tuple> find(Class<T> entityClass, Specification<T> spec, List<Object> filterKey,
+            Function<Root<T>, List<Selection<?>>> columns, Pageable pageable, CountMode mode) {
+        if (mode == CountMode.NONE && pageable.isPaged()) {
+            List<Tuple> rows = rows(entityClass, spec, columns, pageable, pageable.getPageSize() + 1);
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+        }
+        List<Tuple> rows = rows(entityClass, spec, columns, pageable,
+                pageable.isPaged() ? pageable.getPageSize() : -1);
+        LongSupplier count = () -> count(entityClass, spec);
+        return PageableExecutionUtils.getPage(rows, pageable, mode == CountMode.ESTIMATE
+                ? () -> pageTotals.estimate(entityClass, filterKey, count)
+                : () -> pageTotals.exact(entityClass, filterKey, count));
+    }
+
+    /**
+     * Count and latest {@code updatedAt} of the matching rows in one
+     * aggregate, so a conditional list request is answered without reading
+     * the page.
+     */
+    public <T> ChangeStamp stamp(Class<T> entityClass, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(query.isDistinct() ? cb.countDistinct(root) : cb.count(root),
+                cb.greatest(root.<LocalDateTime>get("updatedAt")));
+        query.distinct(false);
+        query.orderBy(List.of());
+        Tuple stamp = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, isCached(entityClass))
+                .getSingleResult();
+        return new ChangeStamp(stamp.get(0, Long.class), stamp.get(1, LocalDateTime.class));
+    }
+
+    private <T> List<Tuple> rows(Class<T> entityClass, Specification<T> spec,
+            Function<Root<T>, List<Selection<?>>> columns, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(columns.apply(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, isCached(entityClass));
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    private <T> long count(Class<T> entityClass, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // The specification may have added an ordering, which a count must not carry
+        query.orderBy(List.of());
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, isCached(entityClass))
+                .getSingleResult();
+    }
+
+    // Reference data in the second-level cache also has its list queries served from the query cache
+    private static boolean isCached(Class<?> entityClass) {
+        return entityClass.isAnnotationPresent(Cacheable.class);
+    }
+}
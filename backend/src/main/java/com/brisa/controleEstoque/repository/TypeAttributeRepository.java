@@ -1,8 +1,33 @@
 package com.brisa.controleEstoque.repository;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
 import com.brisa.controleEstoque.entity.TypeAttribute;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface TypeAttributeRepository extends JpaRepository<TypeAttribute, TypeAttribute.TypeAttributeId> {
     boolean existsByIdAttributeId(java.util.UUID attributeId);
-} 
\ No newline at end of file
+
+    // Seeks the (type_id, attribute_id) primary key by its leading column and
+    // fetches the attribute rows in the same statement.
+    @Query("SELECT ta FROM TypeAttribute ta JOIN FETCH ta.attribute WHERE ta.id.typeId = :typeId")
+    List<TypeAttribute> findByTypeIdWithAttribute(@Param("typeId") UUID typeId);
+
+    // Renaming an attribute changes the list as much as editing the association
+    @Query("SELECT new com.brisa.controleEstoque.common.ChangeStamp(COUNT(ta), GREATEST(MAX(ta.updatedAt), MAX(a.updatedAt))) "
+            + "FROM TypeAttribute ta JOIN ta.attribute a WHERE ta.id.typeId = :typeId")
+    ChangeStamp findChangeStamp(@Param("typeId") UUID typeId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TypeAttribute ta WHERE ta.id.typeId = :typeId")
+    int deleteByTypeId(@Param("typeId") UUID typeId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TypeAttribute ta WHERE ta.id = :id")
+    int deleteByIdReturningCount(@Param("id") TypeAttribute.TypeAttributeId id);
+}
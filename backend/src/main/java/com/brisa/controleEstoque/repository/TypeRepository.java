@@ -3,9 +3,15 @@ package com.brisa.controleEstoque.repository;
 import com.brisa.controleEstoque.entity.Type;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.UUID;
 
 @Repository
 public interface TypeRepository extends JpaRepository<Type, UUID>, JpaSpecificationExecutor<Type> {
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Type t WHERE t.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
+}
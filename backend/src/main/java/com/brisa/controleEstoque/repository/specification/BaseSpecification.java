@@ -10,21 +10,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 public abstract class BaseSpecification<T> {
-    
+
+    private final TextSearch textSearch;
+
+    protected BaseSpecification(TextSearch textSearch) {
+        this.textSearch = textSearch;
+    }
+
     protected Specification<T> createSpecification(String searchTerm, String... fields) {
         return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             if (searchTerm == null || searchTerm.trim().isEmpty()) {
                 return null;
             }
 
-            String searchPattern = "%" + searchTerm.toLowerCase() + "%";
             List<Predicate> predicates = new ArrayList<>();
 
             for (String field : fields) {
-                predicates.add(cb.like(cb.lower(root.get(field)), searchPattern));
+                predicates.add(textSearch.contains(cb, root.get(field), searchTerm));
+            }
+
+            if (fields.length > 0) {
+                textSearch.rankBySimilarity(query, cb, root, fields[0], searchTerm);
             }
 
             return cb.or(predicates.toArray(new Predicate[0]));
         };
     }
-} 
\ No newline at end of file
+}
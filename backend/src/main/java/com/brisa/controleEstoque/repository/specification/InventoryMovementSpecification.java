@@ -0,0 +1,44 @@
+package com.brisa.controleEstoque.repository.specification;
+
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.UUID;
+
+public class InventoryMovementSpecification {
+
+    public static Specification<InventoryMovement> searchByProductId(UUID productId) {
+        return (root, query, cb) -> {
+            if (productId == null) {
+                return null;
+            }
+            return cb.equal(root.get("product").get("id"), productId);
+        };
+    }
+
+    public static Specification<InventoryMovement> searchByLotId(UUID lotId) {
+        return (root, query, cb) -> {
+            if (lotId == null) {
+                return null;
+            }
+            return cb.equal(root.get("lot").get("id"), lotId);
+        };
+    }
+
+    public static Specification<InventoryMovement> searchByLocationId(UUID locationId) {
+        return (root, query, cb) -> {
+            if (locationId == null) {
+                return null;
+            }
+            return cb.equal(root.get("location").get("id"), locationId);
+        };
+    }
+
+    public static Specification<InventoryMovement> searchBeforeId(Long id) {
+        return (root, query, cb) -> {
+            if (id == null) {
+                return null;
+            }
+            return cb.lessThan(root.get("id"), id);
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.brisa.controleEstoque.repository.specification;
+
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.enums.ItemStatus;
+import com.brisa.controleEstoque.schema.AttributePredicate;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.UUID;
+
+public class ItemSpecification {
+
+    public static Specification<Item> searchBySerialNumber(TextSearch textSearch, String search) {
+        return (root, query, cb) -> {
+            if (search == null || search.trim().isEmpty()) {
+                return null;
+            }
+            return textSearch.contains(cb, root.get("serialNumber"), search);
+        };
+    }
+
+    public static Specification<Item> searchByProductId(UUID productId) {
+        return (root, query, cb) -> {
+            if (productId == null) {
+                return null;
+            }
+            return cb.equal(root.get("product").get("id"), productId);
+        };
+    }
+
+    public static Specification<Item> searchByLotId(UUID lotId) {
+        return (root, query, cb) -> {
+            if (lotId == null) {
+                return null;
+            }
+            return cb.equal(root.get("lot").get("id"), lotId);
+        };
+    }
+
+    public static Specification<Item> searchByLocationId(UUID locationId) {
+        return (root, query, cb) -> {
+            if (locationId == null) {
+                return null;
+            }
+            return cb.equal(root.get("location").get("id"), locationId);
+        };
+    }
+
+    public static Specification<Item> searchByStatus(ItemStatus status) {
+        return (root, query, cb) -> {
+            if (status == null) {
+                return null;
+            }
+            return cb.equal(root.get("status"), status);
+        };
+    }
+
+    /**
+     * EXISTS over item_attribute restricted to one attribute and one typed
+     * column, so the database can range-scan (attribute_id, value_*, item_id)
+     * and semi-join the matching item ids.
+     *
+     * @param field typed value property, see {@code CompiledAttribute.getValueField()}
+     * @param value lower bound or compared value, already parsed to the column's type
+     * @param upper upper bound for {@code BETWEEN}, otherwise ignored
+     */
+    public static <T extends Comparable<? super T>> Specification<Item> attributeMatches(UUID attributeId,
+            String field, AttributePredicate.Operator operator, T value, T upper) {
+        return (root, query, cb) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<ItemAttribute> itemAttribute = subquery.from(ItemAttribute.class);
+            Expression<T> column = itemAttribute.get(field);
+            subquery.select(cb.literal(1)).where(
+                    cb.equal(itemAttribute.get("item"), root),
+                    cb.equal(itemAttribute.get("attribute").get("id"), attributeId),
+                    compare(cb, column, operator, value, upper));
+            return cb.exists(subquery);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate compare(CriteriaBuilder cb, Expression<T> column,
+            AttributePredicate.Operator operator, T value, T upper) {
+        return switch (operator) {
+            case EQ -> cb.equal(column, value);
+            case GT -> cb.greaterThan(column, value);
+            case GTE -> cb.greaterThanOrEqualTo(column, value);
+            case LT -> cb.lessThan(column, value);
+            case LTE -> cb.lessThanOrEqualTo(column, value);
+            case BETWEEN -> cb.between(column, value, upper);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.brisa.controleEstoque.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+public class KeysetSpecification {
+
+    /**
+     * Orders by {@code (key, id)} with nulls sorting as the largest key: last
+     * ascending, first descending. That is PostgreSQL's own default, so a
+     * plain {@code (key, id)} index serves both directions, and spelling it
+     * out keeps other databases in step with {@link #after}. Spring Data's
+     * {@code Sort} null handling is not applied to criteria queries, hence the
+     * ordering lives here.
+     */
+    public static <T> Specification<T> orderedBy(String field, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                boolean ascending = direction.isAscending();
+                JpaOrder key = (JpaOrder) (ascending ? cb.asc(root.get(field)) : cb.desc(root.get(field)));
+                query.orderBy(List.of(
+                        key.nullPrecedence(ascending ? NullPrecedence.LAST : NullPrecedence.FIRST),
+                        ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id"))));
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Seek predicate for rows strictly after {@code (value, id)} in the
+     * {@link #orderedBy} order. A non-null value is written as
+     * {@code key >= v AND (key > v OR id > lastId)} so the leading range stays
+     * usable as an index condition on {@code (key, id)}; the null block is
+     * reached with {@code IS NULL} since no comparison matches it.
+     */
+    public static <T> Specification<T> after(String field, Sort.Direction direction, Comparable<?> value, UUID lastId) {
+        return (root, query, cb) -> {
+            boolean ascending = direction.isAscending();
+            Path<?> key = root.get(field);
+            Path<UUID> id = root.get("id");
+            Predicate tieBreak = compare(cb, id, lastId, ascending, false);
+            if (value == null) {
+                Predicate restOfNulls = cb.and(cb.isNull(key), tieBreak);
+                return ascending ? restOfNulls : cb.or(restOfNulls, cb.isNotNull(key));
+            }
+            Predicate seek = cb.and(
+                    compare(cb, key, value, ascending, true),
+                    cb.or(compare(cb, key, value, ascending, false), tieBreak));
+            return ascending ? cb.or(seek, cb.isNull(key)) : seek;
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate compare(CriteriaBuilder cb, Expression path, Comparable value, boolean ascending,
+            boolean inclusive) {
+        if (ascending) {
+            return inclusive ? cb.greaterThanOrEqualTo(path, value) : cb.greaterThan(path, value);
+        }
+        return inclusive ? cb.lessThanOrEqualTo(path, value) : cb.lessThan(path, value);
+    }
+}
@@ -4,7 +4,11 @@ import com.brisa.controleEstoque.entity.Location;
 import org.springframework.data.jpa.domain.Specification;
 
 public class LocationSpecification extends BaseSpecification<Location> {
-    
+
+    public LocationSpecification(TextSearch textSearch) {
+        super(textSearch);
+    }
+
     public Specification<Location> search(String searchTerm) {
         return createSpecification(searchTerm, "name");
     }
@@ -7,12 +7,13 @@ import java.util.UUID;
 
 public class LotSpecification {
     
-    public static Specification<Lot> searchByLotNumber(String search) {
+    public static Specification<Lot> searchByLotNumber(TextSearch textSearch, String search) {
         return (root, query, cb) -> {
             if (search == null || search.trim().isEmpty()) {
                 return null;
             }
-            return cb.like(cb.lower(root.get("lotNumber")), "%" + search.toLowerCase() + "%");
+            textSearch.rankBySimilarity(query, cb, root, "lotNumber", search);
+            return textSearch.contains(cb, root.get("lotNumber"), search);
         };
     }
 
@@ -5,7 +5,11 @@ import org.springframework.data.jpa.domain.Specification;
 import java.util.UUID;
 
 public class ProductSpecification extends BaseSpecification<Product> {
-    
+
+    public ProductSpecification(TextSearch textSearch) {
+        super(textSearch);
+    }
+
     public Specification<Product> search(String searchTerm) {
         return createSpecification(searchTerm, "name");
     }
@@ -0,0 +1,78 @@
+package com.brisa.controleEstoque.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * How free-text filters match. Trigram search needs both the setting and the
+ * PostgreSQL objects behind it, which {@code PostgresSchemaInitializer} reports
+ * through {@link #markReady()}; until then, and on every other database, the
+ * plain lower(col) LIKE behaviour is used.
+ */
+@Component
+public class TextSearch {
+
+    /** Immutable lower(unaccent(x)) wrapper backing the pg_trgm GIN expression indexes. */
+    public static final String SEARCH_FUNCTION = "search_normalize";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final boolean trigramEnabled;
+    private volatile boolean ready;
+
+    public TextSearch(@Value("${app.search.trigram.enabled:true}") boolean trigramEnabled) {
+        this.trigramEnabled = trigramEnabled;
+    }
+
+    public boolean isTrigramEnabled() {
+        return trigramEnabled;
+    }
+
+    public void markReady() {
+        this.ready = trigramEnabled;
+    }
+
+    public boolean isTrigram() {
+        return ready;
+    }
+
+    /**
+     * Substring match. With trigram search on the column goes through
+     * {@value #SEARCH_FUNCTION}, which the GIN index is built on, and the term
+     * is folded the same way in Java so it binds as a plain parameter.
+     */
+    public Predicate contains(CriteriaBuilder cb, Expression<String> column, String searchTerm) {
+        if (ready) {
+            return cb.like(cb.function(SEARCH_FUNCTION, String.class, column), "%" + fold(searchTerm) + "%");
+        }
+        return cb.like(cb.lower(column), "%" + searchTerm.toLowerCase() + "%");
+    }
+
+    /**
+     * Orders the best trigram matches first, then by {@code id} so rows with
+     * equal similarity keep a stable order across pages.
+     */
+    void rankBySimilarity(CriteriaQuery<?> query, CriteriaBuilder cb, Root<?> root, String field, String searchTerm) {
+        // Count queries and explicitly sorted requests keep their own ordering
+        if (!ready || Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType())
+                || !query.getOrderList().isEmpty()) {
+            return;
+        }
+        Expression<Float> similarity = cb.function("similarity", Float.class,
+                cb.function(SEARCH_FUNCTION, String.class, root.get(field)), cb.literal(fold(searchTerm)));
+        query.orderBy(cb.desc(similarity), cb.asc(root.get("id")));
+    }
+
+    static String fold(String searchTerm) {
+        String decomposed = Normalizer.normalize(searchTerm.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase();
+    }
+}
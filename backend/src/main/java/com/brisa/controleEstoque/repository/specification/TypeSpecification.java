@@ -4,7 +4,11 @@ import com.brisa.controleEstoque.entity.Type;
 import org.springframework.data.jpa.domain.Specification;
 
 public class TypeSpecification extends BaseSpecification<Type> {
-    
+
+    public TypeSpecification(TextSearch textSearch) {
+        super(textSearch);
+    }
+
     public Specification<Type> search(String searchTerm) {
         return createSpecification(searchTerm, "name");
     }
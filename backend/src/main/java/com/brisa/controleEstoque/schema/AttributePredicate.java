@@ -0,0 +1,46 @@
+package com.brisa.controleEstoque.schema;
+
+import java.util.UUID;
+
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+
+/**
+ * One attribute filter from a query string, written as
+ * {@code <attributeId>:<operator>:<value>}. {@code between} takes
+ * {@code <low>,<high>}; both bounds are inclusive.
+ */
+public record AttributePredicate(UUID attributeId, Operator operator, String value, String upper) {
+
+    public enum Operator {
+        EQ, GT, GTE, LT, LTE, BETWEEN
+    }
+
+    public static AttributePredicate parse(String filter) {
+        String[] parts = filter.split(":", 3);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            throw new ResourceBadRequestException("Invalid attribute filter '" + filter
+                    + "', expected <attributeId>:<operator>:<value>");
+        }
+        UUID attributeId;
+        Operator operator;
+        try {
+            attributeId = UUID.fromString(parts[0]);
+            operator = Operator.valueOf(parts[1].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResourceBadRequestException("Invalid attribute filter '" + filter + "'");
+        }
+        if (operator != Operator.BETWEEN) {
+            return new AttributePredicate(attributeId, operator, parts[2], null);
+        }
+        String[] bounds = parts[2].split(",", 2);
+        if (bounds.length != 2 || bounds[0].isEmpty() || bounds[1].isEmpty()) {
+            throw new ResourceBadRequestException("Invalid attribute filter '" + filter
+                    + "', between expects <low>,<high>");
+        }
+        return new AttributePredicate(attributeId, operator, bounds[0], bounds[1]);
+    }
+
+    public boolean isRange() {
+        return operator != Operator.EQ;
+    }
+}
@@ -0,0 +1,176 @@
+package com.brisa.controleEstoque.schema;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+
+/**
+ * One attribute of a type with everything needed to check a value already
+ * resolved: SELECT options sit in a hash set and the parser is picked by
+ * data type once, at compile time.
+ */
+public final class CompiledAttribute {
+
+    /** Length of {@code item_attribute.value_text}. */
+    public static final int MAX_TEXT_LENGTH = 500;
+
+    private final UUID typeId;
+    private final UUID attributeId;
+    private final String name;
+    private final AttributeDataType dataType;
+    private final boolean required;
+    private final boolean unique;
+    private final String defaultValue;
+    private final Set<String> options;
+
+    private CompiledAttribute(UUID typeId, Attribute attribute, boolean required, boolean unique, String defaultValue) {
+        this.typeId = typeId;
+        this.attributeId = attribute.getId();
+        this.name = attribute.getName();
+        this.dataType = attribute.getDataType();
+        this.required = required;
+        this.unique = unique;
+        this.defaultValue = defaultValue;
+        this.options = optionsOf(attribute.getOptions());
+    }
+
+    public static CompiledAttribute of(TypeAttribute typeAttribute) {
+        return new CompiledAttribute(typeAttribute.getId().getTypeId(), typeAttribute.getAttribute(),
+                Boolean.TRUE.equals(typeAttribute.getIsRequired()),
+                Boolean.TRUE.equals(typeAttribute.getIsUnique()),
+                typeAttribute.getDefaultValue());
+    }
+
+    /** For checking values against an attribute that is not linked to a type yet. */
+    public static CompiledAttribute of(Attribute attribute) {
+        return new CompiledAttribute(null, attribute, false, false, null);
+    }
+
+    /**
+     * @return {@code null} when {@code value} is acceptable, otherwise why not.
+     *         Blank values are accepted here; required checks happen per item.
+     */
+    public String check(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (dataType) {
+            case NUMBER -> ValueParsers.isNumber(value) ? null : "must be a number";
+            case BOOLEAN -> ValueParsers.isBoolean(value) ? null : "must be true or false";
+            case DATE -> ValueParsers.isDate(value) ? null : "must be a date (yyyy-MM-dd)";
+            case SELECT -> options.isEmpty() || options.contains(value) ? null : "must be one of the defined options";
+            case STRING -> value.length() <= MAX_TEXT_LENGTH ? null : "must be at most " + MAX_TEXT_LENGTH + " characters";
+            case JSON -> null;
+        };
+    }
+
+    /**
+     * Name of the {@link ItemAttribute} property that stores values of this
+     * attribute's data type.
+     */
+    public String getValueField() {
+        return switch (dataType) {
+            case NUMBER -> "valueNumber";
+            case DATE -> "valueDate";
+            case BOOLEAN -> "valueBoolean";
+            case SELECT, STRING -> "valueText";
+            case JSON -> "valueJson";
+        };
+    }
+
+    /** @return {@code value} converted to the Java type of {@link #getValueField()}, or {@code null} if it does not parse */
+    public Object parse(String value) {
+        return switch (dataType) {
+            case NUMBER -> ValueParsers.parseNumber(value);
+            case DATE -> ValueParsers.parseDate(value);
+            case BOOLEAN -> ValueParsers.parseBoolean(value);
+            case SELECT, STRING, JSON -> value;
+        };
+    }
+
+    /**
+     * Writes an already checked value into the matching column and clears the
+     * others. Values of a unique attribute also get the type as their unique
+     * scope and a canonical key, which the database constrains.
+     */
+    public void assign(ItemAttribute target, String value) {
+        target.setValueText(null);
+        target.setValueNumber(null);
+        target.setValueDate(null);
+        target.setValueBoolean(null);
+        target.setValueJson(null);
+        switch (dataType) {
+            case NUMBER -> target.setValueNumber(ValueParsers.parseNumber(value));
+            case DATE -> target.setValueDate(ValueParsers.parseDate(value));
+            case BOOLEAN -> target.setValueBoolean(ValueParsers.parseBoolean(value));
+            case SELECT, STRING -> target.setValueText(value);
+            case JSON -> target.setValueJson(value);
+        }
+        boolean scoped = unique && typeId != null;
+        target.setUniqueScope(scoped ? typeId : null);
+        target.setValueKey(scoped ? uniqueKey(target.getValue()) : null);
+    }
+
+    /**
+     * Canonical text of a typed value, equal for values that compare equal
+     * (so {@code 1}, {@code 1.0} and {@code 1e0} share a key).
+     */
+    public static String uniqueKey(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Double number) {
+            return BigDecimal.valueOf(number).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static Set<String> optionsOf(String options) {
+        if (options == null || options.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(options.split(","))
+                .map(String::trim)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /** @return the owning type, {@code null} for an attribute compiled on its own */
+    public UUID getTypeId() {
+        return typeId;
+    }
+
+    public UUID getAttributeId() {
+        return attributeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AttributeDataType getDataType() {
+        return dataType;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public Set<String> getOptions() {
+        return options;
+    }
+}
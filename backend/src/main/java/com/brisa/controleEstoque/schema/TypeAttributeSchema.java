@@ -0,0 +1,55 @@
+package com.brisa.controleEstoque.schema;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.brisa.controleEstoque.entity.TypeAttribute;
+
+/**
+ * Immutable, compiled view of a type's attributes. Built once per type by
+ * {@link TypeAttributeSchemaCache} and shared by every request until the
+ * type's attribute set changes.
+ */
+public final class TypeAttributeSchema {
+
+    private final UUID typeId;
+    private final List<CompiledAttribute> attributes;
+    private final List<CompiledAttribute> requiredAttributes;
+    private final Map<UUID, CompiledAttribute> byId;
+
+    private TypeAttributeSchema(UUID typeId, List<CompiledAttribute> attributes) {
+        this.typeId = typeId;
+        this.attributes = List.copyOf(attributes);
+        this.requiredAttributes = attributes.stream().filter(CompiledAttribute::isRequired).toList();
+        Map<UUID, CompiledAttribute> index = new LinkedHashMap<>();
+        attributes.forEach(attribute -> index.put(attribute.getAttributeId(), attribute));
+        this.byId = Map.copyOf(index);
+    }
+
+    public static TypeAttributeSchema compile(UUID typeId, List<TypeAttribute> typeAttributes) {
+        return new TypeAttributeSchema(typeId, typeAttributes.stream().map(CompiledAttribute::of).toList());
+    }
+
+    public UUID getTypeId() {
+        return typeId;
+    }
+
+    public List<CompiledAttribute> getAttributes() {
+        return attributes;
+    }
+
+    public List<CompiledAttribute> getRequiredAttributes() {
+        return requiredAttributes;
+    }
+
+    /** @return the attribute, or {@code null} if it is not part of this type */
+    public CompiledAttribute attribute(UUID attributeId) {
+        return byId.get(attributeId);
+    }
+
+    public boolean contains(UUID attributeId) {
+        return byId.containsKey(attributeId);
+    }
+}
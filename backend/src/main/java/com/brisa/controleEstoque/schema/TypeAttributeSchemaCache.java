@@ -0,0 +1,85 @@
+package com.brisa.controleEstoque.schema;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.brisa.controleEstoque.datasource.PrimaryReads;
+import com.brisa.controleEstoque.repository.TypeAttributeRepository;
+
+/**
+ * Compiled schema per type. Entries are rebuilt lazily after an eviction; the
+ * services that change a type's attribute links evict it immediately and again
+ * when the transaction completes, so neither a concurrent read nor a rolled
+ * back change can leave the wrong links cached.
+ * <p>
+ * Every eviction bumps a generation counter, and a schema compiled on a miss is
+ * only stored if no eviction happened since its links were read. Otherwise a
+ * compile that started before an eviction could land after it and stay cached.
+ * Links are read on the primary: entries have no TTL, so a replica that has not
+ * replayed a link change yet would keep the old schema cached.
+ */
+@Component
+public class TypeAttributeSchemaCache {
+
+    private final Map<UUID, TypeAttributeSchema> schemas = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final TypeAttributeRepository typeAttributeRepository;
+    private final PrimaryReads primaryReads;
+
+    public TypeAttributeSchemaCache(TypeAttributeRepository typeAttributeRepository, PrimaryReads primaryReads) {
+        this.typeAttributeRepository = typeAttributeRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public TypeAttributeSchema get(UUID typeId) {
+        TypeAttributeSchema cached = schemas.get(typeId);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        TypeAttributeSchema schema = TypeAttributeSchema.compile(typeId,
+                primaryReads.call(() -> typeAttributeRepository.findByTypeIdWithAttribute(typeId)));
+        // Atomic with the removal in evict, which always follows the increment
+        TypeAttributeSchema stored = schemas.compute(typeId, (id, current) ->
+                current != null || generation.get() != observed ? current : schema);
+        return stored != null ? stored : schema;
+    }
+
+    public void evict(UUID typeId) {
+        evictNow(typeId);
+        afterCompletion(() -> evictNow(typeId));
+    }
+
+    /** An attribute's data type or options changed: every type using it is stale. */
+    public void evictByAttribute(UUID attributeId) {
+        evictByAttributeNow(attributeId);
+        afterCompletion(() -> evictByAttributeNow(attributeId));
+    }
+
+    private void evictNow(UUID typeId) {
+        generation.incrementAndGet();
+        schemas.remove(typeId);
+    }
+
+    private void evictByAttributeNow(UUID attributeId) {
+        generation.incrementAndGet();
+        schemas.values().removeIf(schema -> schema.contains(attributeId));
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.brisa.controleEstoque.schema;
+
+import java.time.LocalDate;
+
+/**
+ * Scanners for attribute values that report invalid input by returning
+ * {@code false}/{@code null} instead of throwing, so validating a rejected
+ * value costs no more than validating an accepted one.
+ */
+public final class ValueParsers {
+
+    private ValueParsers() {
+    }
+
+    /**
+     * Decimal number: optional sign, digits with at most one dot, optional
+     * exponent, and within the range of a double, so {@code 1e999} (which
+     * would read as infinity) is rejected.
+     */
+    public static boolean isNumber(String value) {
+        return isNumberSyntax(value) && Double.isFinite(Double.parseDouble(value));
+    }
+
+    public static Double parseNumber(String value) {
+        if (!isNumberSyntax(value)) {
+            return null;
+        }
+        double number = Double.parseDouble(value);
+        return Double.isFinite(number) ? number : null;
+    }
+
+    private static boolean isNumberSyntax(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        boolean digits = false;
+        boolean dot = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    /** ISO calendar date, {@code yyyy-MM-dd}, including month lengths and leap years. */
+    public static boolean isDate(String value) {
+        if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= daysInMonth(year, month);
+    }
+
+    public static LocalDate parseDate(String value) {
+        return isDate(value) ? LocalDate.of(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10)) : null;
+    }
+
+    public static boolean isBoolean(String value) {
+        return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value);
+    }
+
+    public static Boolean parseBoolean(String value) {
+        return isBoolean(value) ? Boolean.valueOf(value) : null;
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
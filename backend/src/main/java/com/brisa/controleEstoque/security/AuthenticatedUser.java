@@ -0,0 +1,53 @@
+package com.brisa.controleEstoque.security;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.brisa.controleEstoque.entity.User;
+import com.brisa.controleEstoque.entity.enums.Role;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link User} as seen when its token was checked. This is
+ * what {@link PrincipalCache} shares between requests, so no request can mutate
+ * another's principal, and no detached entity outlives its persistence context.
+ * The password hash is not kept.
+ */
+@Value
+public class AuthenticatedUser implements UserDetails {
+    UUID id;
+    String email;
+    String displayName;
+    Role role;
+    boolean enabled;
+    boolean accountNonExpired;
+    boolean accountNonLocked;
+    boolean credentialsNonExpired;
+    LocalDateTime createdAt;
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getDisplayName(), user.getRole(),
+                user.isEnabled(), user.isAccountNonExpired(), user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(), user.getCreatedAt());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Set.of(role);
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
@@ -9,7 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -18,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.brisa.controleEstoque.service.CustomUserDetailsService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -26,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -35,13 +36,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
+            Optional<VerifiedToken> verified = jwt != null ? jwtUtil.verify(jwt) : Optional.empty();
 
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String email = jwtUtil.extractUsername(jwt);
+            if (verified.isPresent()) {
+                String email = verified.get().getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                AuthenticatedUser userDetails = principalCache.get(email, userDetailsService::loadUserByEmail);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                // Tokens outlive deactivation and locking, so the account state is checked on every request
+                if (email.equals(userDetails.getUsername())
+                        && userDetails.isEnabled()
+                        && userDetails.isAccountNonLocked()
+                        && userDetails.isAccountNonExpired()) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
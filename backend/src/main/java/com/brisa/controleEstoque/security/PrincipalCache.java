@@ -0,0 +1,71 @@
+package com.brisa.controleEstoque.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.brisa.controleEstoque.entity.User;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-based cache of authenticated principals keyed by email.
+ * Hit, miss and eviction counts are published as the "principals" cache metrics.
+ * <p>
+ * A side index maps user id to the cached email, so a user whose email changed
+ * is evicted with one lookup instead of a scan over every entry.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+    private final Map<UUID, String> emailsById = new ConcurrentHashMap<>();
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                // Runs inside the entry's removal, so it cannot race a reload of the same email
+                .evictionListener((String email, AuthenticatedUser principal, RemovalCause cause) -> {
+                    if (principal != null) {
+                        emailsById.remove(principal.getId(), email);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public AuthenticatedUser get(String email, Function<String, User> loader) {
+        return cache.get(email, key -> {
+            AuthenticatedUser principal = AuthenticatedUser.of(loader.apply(key));
+            emailsById.put(principal.getId(), key);
+            return principal;
+        });
+    }
+
+    public void evict(User user) {
+        if (user.getEmail() != null) {
+            cache.invalidate(user.getEmail());
+        }
+        // The email itself may have changed, so also drop the entry cached under the old one
+        UUID id = user.getId();
+        if (id != null) {
+            String cachedEmail = emailsById.remove(id);
+            if (cachedEmail != null) {
+                cache.invalidate(cachedEmail);
+            }
+        }
+    }
+}
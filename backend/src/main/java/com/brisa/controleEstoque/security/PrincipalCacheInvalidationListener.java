@@ -0,0 +1,47 @@
+package com.brisa.controleEstoque.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.brisa.controleEstoque.entity.User;
+
+/**
+ * Drops cached principals whenever a {@link User} row changes (password, role,
+ * activation flags, ...). The entry is evicted immediately and again after
+ * commit so a concurrent request cannot re-cache the pre-commit state.
+ * <p>
+ * Hibernate builds this listener with the persistence unit, so the cache is
+ * looked up on use: contexts without the security layer, such as JPA slice
+ * tests, have nothing to evict.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public PrincipalCacheInvalidationListener(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        PrincipalCache cache = principalCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.evict(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(user);
+                }
+            });
+        }
+    }
+}
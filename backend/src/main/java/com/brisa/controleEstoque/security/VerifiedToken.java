@@ -0,0 +1,22 @@
+package com.brisa.controleEstoque.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ * Produced once per request by {@link JwtUtil#verify(String)}.
+ */
+@Value
+public class VerifiedToken {
+    String subject;
+    Date issuedAt;
+    Date expiration;
+    Claims claims;
+
+    static VerifiedToken of(Claims claims) {
+        return new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(), claims);
+    }
+}
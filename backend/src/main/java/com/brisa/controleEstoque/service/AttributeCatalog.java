@@ -0,0 +1,171 @@
+package com.brisa.controleEstoque.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brisa.controleEstoque.common.UuidV7;
+import com.brisa.controleEstoque.datasource.PrimaryReads;
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.exceptions.ResourceInternalServerErrorException;
+import com.brisa.controleEstoque.repository.AttributeRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of attribute definitions by their identity (name, data type,
+ * normalized options), bounded in size and expiring after a TTL so edits made
+ * outside this instance are picked up. A hit is a map probe; a miss inserts with
+ * {@code ON CONFLICT DO NOTHING} on PostgreSQL and reads the row back, so two
+ * requests creating the same attribute both end up with the same row. Misses
+ * are resolved on the primary, never on a replica that may lag behind.
+ */
+@Slf4j
+@Component
+public class AttributeCatalog {
+
+    private final Cache<AttributeKey, Attribute> attributes;
+    private final AttributeRepository attributeRepository;
+    private final TransactionTemplate requiresNew;
+    private final PrimaryReads primaryReads;
+
+    // Switched on once the expression unique index behind ON CONFLICT exists
+    private volatile boolean upsert = false;
+
+    public AttributeCatalog(AttributeRepository attributeRepository, PlatformTransactionManager transactionManager,
+            PrimaryReads primaryReads, MeterRegistry meterRegistry,
+            @Value("${app.attribute-catalog.max-size:10000}") long maxSize,
+            @Value("${app.attribute-catalog.ttl:10m}") Duration ttl) {
+        this.attributes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, attributes, "attribute-catalog");
+        this.attributeRepository = attributeRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReads = primaryReads;
+    }
+
+    public void useUpsert(boolean enabled) {
+        this.upsert = enabled;
+    }
+
+    public Attribute getOrCreate(String name, AttributeDataType dataType, String options, String description) {
+        AttributeKey key = new AttributeKey(name, dataType,
+                dataType == AttributeDataType.SELECT ? normalizeOptions(options) : null);
+
+        Attribute cached = attributes.getIfPresent(key);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        Attribute attribute = primaryReads.call(() -> upsert ? upsert(key, description) : findOrInsert(key, description));
+        remember(key, attribute);
+        return attribute;
+    }
+
+    /** Drops an attribute now and again after commit, so a concurrent miss cannot re-cache the old row. */
+    public void evict(UUID attributeId) {
+        evictNow(attributeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(attributeId);
+                }
+            });
+        }
+    }
+
+    public static String normalizeOptions(String options) {
+        if (options == null) {
+            return null;
+        }
+        String[] optionArray = options.split(",");
+        for (int i = 0; i < optionArray.length; i++) {
+            optionArray[i] = optionArray[i].trim();
+        }
+        Arrays.sort(optionArray);
+        return String.join(",", optionArray);
+    }
+
+    private Attribute upsert(AttributeKey key, String description) {
+        // Blocks on a competing uncommitted insert of the same identity, then reads the winner
+        attributeRepository.insertIfAbsent(UuidV7.randomUuid(), key.name(), description, key.dataType().name(), key.options());
+        return find(key);
+    }
+
+    private Attribute findOrInsert(AttributeKey key, String description) {
+        return attributeRepository.findByNameAndDataTypeAndOptions(key.name(), key.dataType(), key.options())
+                .orElseGet(() -> {
+                    try {
+                        // Own transaction so a lost race does not poison the caller's
+                        requiresNew.executeWithoutResult(status -> attributeRepository.saveAndFlush(Attribute.builder()
+                                .name(key.name())
+                                .description(description)
+                                .dataType(key.dataType())
+                                .options(key.options())
+                                .build()));
+                    } catch (DataIntegrityViolationException e) {
+                        log.debug("Attribute {} created concurrently, reading it back", key);
+                    }
+                    return find(key);
+                });
+    }
+
+    private Attribute find(AttributeKey key) {
+        return attributeRepository.findByNameAndDataTypeAndOptions(key.name(), key.dataType(), key.options())
+                .orElseThrow(() -> new ResourceInternalServerErrorException("Attribute " + key.name() + " could not be created"));
+    }
+
+    // Only cache rows that are committed; a rolled back insert must not leave a dangling id behind
+    private void remember(AttributeKey key, Attribute attribute) {
+        Attribute snapshot = copyOf(attribute);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    attributes.put(key, snapshot);
+                }
+            });
+        } else {
+            attributes.put(key, snapshot);
+        }
+    }
+
+    private void evictNow(UUID attributeId) {
+        attributes.asMap().values().removeIf(attribute -> attribute.getId().equals(attributeId));
+    }
+
+    private static Attribute copyOf(Attribute attribute) {
+        return Attribute.builder()
+                .id(attribute.getId())
+                .name(attribute.getName())
+                .description(attribute.getDescription())
+                .dataType(attribute.getDataType())
+                .options(attribute.getOptions())
+                .createdAt(attribute.getCreatedAt())
+                .updatedAt(attribute.getUpdatedAt())
+                .build();
+    }
+
+    private record AttributeKey(String name, AttributeDataType dataType, String options) {
+    }
+}
@@ -16,6 +16,7 @@ import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.AttributeMapper;
 import com.brisa.controleEstoque.repository.AttributeRepository;
 import com.brisa.controleEstoque.repository.TypeAttributeRepository;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
 
 @Service
 @Transactional
@@ -23,17 +24,25 @@ public class AttributeService {
     private final AttributeRepository attributeRepository;
     private final AttributeMapper attributeMapper;
     private final TypeAttributeRepository typeAttributeRepository;
+    private final AttributeCatalog attributeCatalog;
+    private final TypeAttributeSchemaCache schemaCache;
 
-    public AttributeService(AttributeRepository attributeRepository, AttributeMapper attributeMapper, TypeAttributeRepository typeAttributeRepository) {
+    public AttributeService(AttributeRepository attributeRepository, AttributeMapper attributeMapper,
+            TypeAttributeRepository typeAttributeRepository, AttributeCatalog attributeCatalog,
+            TypeAttributeSchemaCache schemaCache) {
         this.attributeRepository = attributeRepository;
         this.attributeMapper = attributeMapper;
         this.typeAttributeRepository = typeAttributeRepository;
+        this.attributeCatalog = attributeCatalog;
+        this.schemaCache = schemaCache;
     }
 
+    @Transactional(readOnly = true)
     public Page<Attribute> findAll(Pageable pageable) {
         return attributeRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Attribute findById(UUID id) {
         return attributeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Attribute not found with id: " + id));
@@ -58,6 +67,8 @@ public class AttributeService {
         Attribute existing = findById(id);
         try {
             attributeMapper.updateEntityFromDto(dto, existing);
+            attributeCatalog.evict(id);
+            schemaCache.evictByAttribute(id);
             return attributeRepository.save(existing);
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage().contains("unique constraint")) {
@@ -71,10 +82,10 @@ public class AttributeService {
         if (typeAttributeRepository.existsByIdAttributeId(id)) {
             throw new ResourceBadRequestException("Cannot delete attribute: it is still linked to one or more types.");
         }
-        if (!attributeRepository.existsById(id)) {
+        attributeCatalog.evict(id);
+        if (attributeRepository.deleteByIdReturningCount(id) == 0) {
             throw new ResourceNotFoundException("Attribute not found with id: " + id);
         }
-        attributeRepository.deleteById(id);
     }
 
     // --- Begin moved logic from TypeAttributeService ---
@@ -82,54 +93,7 @@ public class AttributeService {
         if (dto.getAttributeId() != null) {
             return findById(dto.getAttributeId());
         }
-        return dto.getDataType() == com.brisa.controleEstoque.entity.enums.AttributeDataType.SELECT
-                ? getOrCreateSelectAttribute(dto)
-                : getOrCreateNonSelectAttribute(dto);
-    }
-
-    private Attribute getOrCreateSelectAttribute(RequestTypeAttributeDTO dto) {
-        String normalizedOptions = normalizeOptions(dto.getOptions());
-        return attributeRepository.findByNameAndDataTypeAndOptions(
-                dto.getName(),
-                (com.brisa.controleEstoque.entity.enums.AttributeDataType) dto.getDataType(),
-                normalizedOptions).orElseGet(() -> createNewAttribute(dto, normalizedOptions));
-    }
-
-    private Attribute getOrCreateNonSelectAttribute(RequestTypeAttributeDTO dto) {
-        return attributeRepository.findByNameAndDataType(dto.getName(), dto.getDataType())
-                .orElseGet(() -> createNewAttribute(dto, null));
-    }
-
-    private String normalizeOptions(String options) {
-        if (options == null)
-            return null;
-        String[] optionArray = options.split(",");
-        for (int i = 0; i < optionArray.length; i++) {
-            optionArray[i] = optionArray[i].trim();
-        }
-        java.util.Arrays.sort(optionArray);
-        return String.join(",", optionArray);
-    }
-
-    private Attribute createNewAttribute(RequestTypeAttributeDTO dto, String normalizedOptions) {
-        try {
-            Attribute newAttr = Attribute.builder()
-                    .name(dto.getName())
-                    .description(dto.getDescription())
-                    .dataType((com.brisa.controleEstoque.entity.enums.AttributeDataType) dto.getDataType())
-                    .options(normalizedOptions)
-                    .build();
-            return attributeRepository.save(newAttr);
-        } catch (org.springframework.dao.DataIntegrityViolationException e) {
-            String errorMessage = normalizedOptions != null
-                    ? String.format("An attribute with name '%s', data type '%s', and options '%s' already exists. " +
-                            "Please use different options or a different name.",
-                            dto.getName(), dto.getDataType(), normalizedOptions)
-                    : String.format("An attribute with name '%s' and data type '%s' already exists. " +
-                            "Please use a different name or data type.",
-                            dto.getName(), dto.getDataType());
-            throw new ResourceBadRequestException(errorMessage);
-        }
+        return attributeCatalog.getOrCreate(dto.getName(), dto.getDataType(), dto.getOptions(), dto.getDescription());
     }
     // --- End moved logic from TypeAttributeService ---
 } 
\ No newline at end of file
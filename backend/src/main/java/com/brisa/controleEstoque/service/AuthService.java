@@ -20,6 +20,7 @@ import com.brisa.controleEstoque.entity.enums.Role;
 import com.brisa.controleEstoque.exceptions.EmailAlreadyExistsException;
 import com.brisa.controleEstoque.exceptions.InvalidCredentialsException;
 import com.brisa.controleEstoque.repository.UserRepository;
+import com.brisa.controleEstoque.security.AuthenticatedUser;
 import com.brisa.controleEstoque.security.JwtUtil;
 
 @Service
@@ -87,16 +88,17 @@ public class AuthService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public UserInfoResponseDTO getCurrentUserInfo() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
         return UserInfoResponseDTO.builder()
                 .id(user.getId())
                 .email(user.getEmail())
                 .displayName(user.getDisplayName())
                 .role(user.getRole())
-                .isActive(user.isActive())
+                .isActive(user.isEnabled())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,137 @@
+package com.brisa.controleEstoque.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brisa.controleEstoque.common.CsvUtils;
+import com.brisa.controleEstoque.common.RecordFormat;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Streams filtered products and lots straight from a database cursor to the
+ * response, one row at a time, so memory use does not depend on row count.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    // Matches the (created_at, id) indexes, so rows come off the index in order
+    private static final List<String> EXPORT_ORDER = List.of("createdAt", "id");
+
+    private static final List<String> LOT_COLUMNS = List.of(
+            "id", "productId", "lotNumber", "manufacturingDate", "expirationDate", "createdAt", "updatedAt");
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "id", "name", "typeId", "description", "createdAt", "updatedAt");
+
+    private final TupleProjectionRepository projectionRepository;
+    private final LotService lotService;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ExportService(TupleProjectionRepository projectionRepository, LotService lotService,
+            ProductService productService, ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.projectionRepository = projectionRepository;
+        this.lotService = lotService;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public long exportLots(String search, UUID productId, LocalDateTime manufacturingStartDate,
+            LocalDateTime manufacturingEndDate, LocalDateTime expirationStartDate,
+            LocalDateTime expirationEndDate, RecordFormat format, Writer out) throws IOException {
+        try (Stream<Tuple> rows = projectionRepository.stream(Lot.class,
+                lotService.filter(search, productId, manufacturingStartDate, manufacturingEndDate,
+                        expirationStartDate, expirationEndDate),
+                ExportService::lotColumns,
+                EXPORT_ORDER,
+                fetchSize)) {
+            return write(rows, LOT_COLUMNS, format, out);
+        }
+    }
+
+    public long exportProducts(String search, UUID typeId, RecordFormat format, Writer out) throws IOException {
+        try (Stream<Tuple> rows = projectionRepository.stream(Product.class,
+                productService.filter(search, typeId),
+                ExportService::productColumns,
+                EXPORT_ORDER,
+                fetchSize)) {
+            return write(rows, PRODUCT_COLUMNS, format, out);
+        }
+    }
+
+    private long write(Stream<Tuple> rows, List<String> columns, RecordFormat format, Writer out) throws IOException {
+        if (format == RecordFormat.CSV) {
+            out.write(CsvUtils.toLine(columns));
+            out.write('\n');
+        }
+
+        long count = 0;
+        Iterator<Tuple> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Tuple row = iterator.next();
+            if (format == RecordFormat.CSV) {
+                out.write(CsvUtils.toLine(Arrays.asList(row.toArray())));
+            } else {
+                Map<String, Object> record = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    record.put(columns.get(i), row.get(i));
+                }
+                out.write(objectMapper.writeValueAsString(record));
+            }
+            out.write('\n');
+
+            if (++count % FLUSH_EVERY == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    private static List<Selection<?>> lotColumns(Root<Lot> root) {
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get("id"));
+        columns.add(root.get("product").get("id"));
+        columns.add(root.get("lotNumber"));
+        columns.add(root.get("manufacturingDate"));
+        columns.add(root.get("expirationDate"));
+        columns.add(root.get("createdAt"));
+        columns.add(root.get("updatedAt"));
+        return columns;
+    }
+
+    private static List<Selection<?>> productColumns(Root<Product> root) {
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get("id"));
+        columns.add(root.get("name"));
+        columns.add(root.get("type").get("id"));
+        columns.add(root.get("description"));
+        columns.add(root.get("createdAt"));
+        columns.add(root.get("updatedAt"));
+        return columns;
+    }
+}
@@ -0,0 +1,134 @@
+package com.brisa.controleEstoque.service;
+
+import com.brisa.controleEstoque.dto.responses.ResponseFacetsDTO;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.facet.FacetCounts;
+import com.brisa.controleEstoque.facet.FacetIndex;
+import com.brisa.controleEstoque.repository.TypeRepository;
+import com.brisa.controleEstoque.schema.AttributePredicate;
+import com.brisa.controleEstoque.schema.CompiledAttribute;
+import com.brisa.controleEstoque.schema.TypeAttributeSchema;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class FacetService {
+
+    private final FacetIndex facetIndex;
+    private final TypeAttributeSchemaCache schemaCache;
+    private final TypeRepository typeRepository;
+
+    public FacetService(FacetIndex facetIndex, TypeAttributeSchemaCache schemaCache, TypeRepository typeRepository) {
+        this.facetIndex = facetIndex;
+        this.schemaCache = schemaCache;
+        this.typeRepository = typeRepository;
+    }
+
+    /**
+     * Counts per value of every SELECT and BOOLEAN attribute of the type.
+     * Filters use the item filter syntax restricted to {@code eq}; repeating
+     * an attribute accepts any of the given values. Not read-only: the counts
+     * follow every commit on the primary, so the type lookup must too.
+     */
+    public ResponseFacetsDTO facets(UUID typeId, List<String> filters) {
+        if (!typeRepository.existsById(typeId)) {
+            throw new ResourceNotFoundException("Type not found with id: " + typeId);
+        }
+        TypeAttributeSchema schema = schemaCache.get(typeId);
+
+        Map<UUID, Set<String>> accepted = new HashMap<>();
+        if (filters != null) {
+            for (String filter : filters) {
+                AttributePredicate predicate = AttributePredicate.parse(filter);
+                CompiledAttribute attribute = schema.attribute(predicate.attributeId());
+                if (attribute == null || !isFaceted(attribute)) {
+                    throw new ResourceBadRequestException("Attribute " + predicate.attributeId()
+                            + " is not a SELECT or BOOLEAN attribute of the type");
+                }
+                if (predicate.isRange()) {
+                    throw new ResourceBadRequestException("Facet filters only support eq");
+                }
+                accepted.computeIfAbsent(attribute.getAttributeId(), id -> new HashSet<>())
+                        .add(facetValue(attribute, predicate.value()));
+            }
+        }
+
+        FacetCounts counts = facetIndex.count(typeId, accepted);
+        ResponseFacetsDTO response = new ResponseFacetsDTO();
+        response.setTypeId(typeId);
+        response.setItemCount(counts.itemCount());
+        response.setProductCount(counts.productCount());
+        for (CompiledAttribute attribute : schema.getAttributes()) {
+            if (!isFaceted(attribute)) {
+                continue;
+            }
+            Map<String, Long> byValue = new LinkedHashMap<>();
+            // Defined options and both booleans are listed even when no item carries them
+            if (attribute.getDataType() == AttributeDataType.BOOLEAN) {
+                byValue.put("true", 0L);
+                byValue.put("false", 0L);
+            } else {
+                attribute.getOptions().forEach(option -> byValue.put(option, 0L));
+            }
+            byValue.putAll(counts.counts().getOrDefault(attribute.getAttributeId(), Map.of()));
+            response.getFacets().add(new ResponseFacetsDTO.Facet(attribute.getAttributeId(), attribute.getName(),
+                    attribute.getDataType(), byValue));
+        }
+        return response;
+    }
+
+    /** Hands the item's current facet values to the index, applied once the transaction commits. */
+    public void index(Item item) {
+        UUID typeId = item.getProduct().getType().getId();
+        TypeAttributeSchema schema = schemaCache.get(typeId);
+        Map<UUID, String> values = new HashMap<>();
+        item.getAttributes().forEach(value -> {
+            CompiledAttribute attribute = schema.attribute(value.getAttribute().getId());
+            if (attribute != null && isFaceted(attribute)) {
+                values.put(attribute.getAttributeId(),
+                        value.getValueBoolean() != null ? value.getValueBoolean().toString() : value.getValueText());
+            }
+        });
+        facetIndex.put(typeId, item.getId(), item.getProduct().getId(), values);
+    }
+
+    public void unindex(UUID typeId, UUID itemId) {
+        facetIndex.remove(typeId, itemId);
+    }
+
+    /** The product changed type; its items are counted under the new one from commit on. */
+    public void moveProduct(UUID productId, UUID fromTypeId) {
+        facetIndex.moveProduct(productId, fromTypeId);
+    }
+
+    public void removeAttribute(UUID typeId, UUID attributeId) {
+        facetIndex.removeAttribute(typeId, attributeId);
+    }
+
+    private static boolean isFaceted(CompiledAttribute attribute) {
+        return attribute.getDataType() == AttributeDataType.SELECT
+                || attribute.getDataType() == AttributeDataType.BOOLEAN;
+    }
+
+    private static String facetValue(CompiledAttribute attribute, String value) {
+        String error = attribute.check(value);
+        if (error != null) {
+            throw new ResourceBadRequestException("Filter value '" + value + "' for attribute '"
+                    + attribute.getName() + "' " + error);
+        }
+        return attribute.getDataType() == AttributeDataType.BOOLEAN ? value.toLowerCase() : value;
+    }
+}
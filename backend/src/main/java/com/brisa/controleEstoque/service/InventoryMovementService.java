@@ -0,0 +1,119 @@
+package com.brisa.controleEstoque.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brisa.controleEstoque.common.CheckUser;
+import com.brisa.controleEstoque.common.CheckValues;
+import com.brisa.controleEstoque.common.KeysetPaginator;
+import com.brisa.controleEstoque.dto.requests.RequestMovementDTO;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.repository.InventoryMovementRepository;
+import com.brisa.controleEstoque.repository.LocationRepository;
+import com.brisa.controleEstoque.repository.LotRepository;
+import com.brisa.controleEstoque.repository.specification.InventoryMovementSpecification;
+
+@Service
+@Transactional
+public class InventoryMovementService {
+
+    private final InventoryMovementRepository repository;
+    private final LotRepository lotRepository;
+    private final LocationRepository locationRepository;
+    private final StockLevelService stockLevelService;
+
+    public InventoryMovementService(InventoryMovementRepository repository, LotRepository lotRepository,
+            LocationRepository locationRepository, StockLevelService stockLevelService) {
+        this.repository = repository;
+        this.lotRepository = lotRepository;
+        this.locationRepository = locationRepository;
+        this.stockLevelService = stockLevelService;
+    }
+
+    /**
+     * Appends the ledger rows for one movement: a single signed row, or an
+     * outgoing and an incoming row for a transfer, and updates the stock level
+     * totals in the same transaction.
+     */
+    public List<InventoryMovement> record(RequestMovementDTO dto) {
+        CheckValues.checkLongValue(dto.getQuantity());
+        Lot lot = lotRepository.findById(dto.getLotId())
+            .orElseThrow(() -> new ResourceNotFoundException("Lot not found with id: " + dto.getLotId()));
+
+        UUID from = dto.getFromLocationId();
+        UUID to = dto.getToLocationId();
+        MovementType type = dto.getMovementType();
+
+        List<InventoryMovement> rows = new ArrayList<>(2);
+        switch (type) {
+            case RECEIPT -> {
+                requireLocations(type, from == null && to != null, "toLocationId only");
+                rows.add(row(dto, lot, to, dto.getQuantity()));
+            }
+            case ISSUE -> {
+                requireLocations(type, from != null && to == null, "fromLocationId only");
+                rows.add(row(dto, lot, from, -dto.getQuantity()));
+            }
+            case TRANSFER -> {
+                requireLocations(type, from != null && to != null, "both fromLocationId and toLocationId");
+                if (from.equals(to)) {
+                    throw new ResourceBadRequestException("Cannot transfer to the same location");
+                }
+                rows.add(row(dto, lot, from, -dto.getQuantity()));
+                rows.add(row(dto, lot, to, dto.getQuantity()));
+            }
+            case ADJUSTMENT -> {
+                requireLocations(type, (from == null) != (to == null), "exactly one of fromLocationId or toLocationId");
+                rows.add(to != null ? row(dto, lot, to, dto.getQuantity()) : row(dto, lot, from, -dto.getQuantity()));
+            }
+        }
+        List<InventoryMovement> saved = repository.saveAll(rows);
+        stockLevelService.apply(saved);
+        return saved;
+    }
+
+    /** Newest-first ledger page; pass the last id seen as {@code beforeId} to continue. */
+    @Transactional(readOnly = true)
+    public List<InventoryMovement> findAll(UUID productId, UUID lotId, UUID locationId, Long beforeId, int size) {
+        if (size <= 0 || size > KeysetPaginator.MAX_PAGE_SIZE) {
+            throw new ResourceBadRequestException("Page size must be between 1 and " + KeysetPaginator.MAX_PAGE_SIZE);
+        }
+        Specification<InventoryMovement> spec = Specification.where(InventoryMovementSpecification.searchByProductId(productId))
+            .and(InventoryMovementSpecification.searchByLotId(lotId))
+            .and(InventoryMovementSpecification.searchByLocationId(locationId))
+            .and(InventoryMovementSpecification.searchBeforeId(beforeId));
+        return repository.<InventoryMovement, List<InventoryMovement>>findBy(spec,
+                q -> q.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(size).all());
+    }
+
+    private InventoryMovement row(RequestMovementDTO dto, Lot lot, UUID locationId, long quantity) {
+        Location location = locationRepository.findById(locationId)
+            .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + locationId));
+        return InventoryMovement.builder()
+            .movementType(dto.getMovementType())
+            .product(lot.getProduct())
+            .lot(lot)
+            .location(location)
+            .quantity(quantity)
+            .userId(CheckUser.getAuthenticatedUserId())
+            .notes(dto.getNotes())
+            .build();
+    }
+
+    private static void requireLocations(MovementType type, boolean valid, String expected) {
+        if (!valid) {
+            throw new ResourceBadRequestException(type + " movement requires " + expected);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.brisa.controleEstoque.service;
+
+import com.brisa.controleEstoque.dto.requests.RequestItemDTO;
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.entity.enums.ItemStatus;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.repository.AttributeRepository;
+import com.brisa.controleEstoque.repository.ItemRepository;
+import com.brisa.controleEstoque.repository.LocationRepository;
+import com.brisa.controleEstoque.repository.LotRepository;
+import com.brisa.controleEstoque.repository.specification.ItemSpecification;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.brisa.controleEstoque.schema.AttributePredicate;
+import com.brisa.controleEstoque.schema.CompiledAttribute;
+import com.brisa.controleEstoque.schema.TypeAttributeSchema;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ItemService {
+
+    private final ItemRepository repository;
+    private final LotRepository lotRepository;
+    private final LocationRepository locationRepository;
+    private final AttributeRepository attributeRepository;
+    private final TypeAttributeSchemaCache schemaCache;
+    private final FacetService facetService;
+    private final TextSearch textSearch;
+
+    public ItemService(ItemRepository repository, LotRepository lotRepository, LocationRepository locationRepository,
+            AttributeRepository attributeRepository, TypeAttributeSchemaCache schemaCache, FacetService facetService,
+            TextSearch textSearch) {
+        this.repository = repository;
+        this.lotRepository = lotRepository;
+        this.locationRepository = locationRepository;
+        this.attributeRepository = attributeRepository;
+        this.schemaCache = schemaCache;
+        this.facetService = facetService;
+        this.textSearch = textSearch;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Item> findAll(String search, UUID productId, UUID lotId, UUID locationId, ItemStatus status,
+            List<String> attributeFilters, Pageable pageable) {
+        Specification<Item> spec = Specification.where(ItemSpecification.searchBySerialNumber(textSearch, search))
+            .and(ItemSpecification.searchByProductId(productId))
+            .and(ItemSpecification.searchByLotId(lotId))
+            .and(ItemSpecification.searchByLocationId(locationId))
+            .and(ItemSpecification.searchByStatus(status))
+            .and(attributeFilter(attributeFilters));
+        return repository.findAll(spec, pageable);
+    }
+
+    /**
+     * Turns {@code <attributeId>:<operator>:<value>} filters into typed
+     * predicates. Values are parsed with the attribute's data type so the
+     * comparison runs on the native column.
+     */
+    private Specification<Item> attributeFilter(List<String> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return null;
+        }
+        List<AttributePredicate> predicates = filters.stream().map(AttributePredicate::parse).toList();
+        Map<UUID, Attribute> attributes = attributeRepository
+            .findAllById(predicates.stream().map(AttributePredicate::attributeId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Attribute::getId, Function.identity()));
+
+        Specification<Item> spec = Specification.where(null);
+        for (AttributePredicate predicate : predicates) {
+            Attribute attribute = attributes.get(predicate.attributeId());
+            if (attribute == null) {
+                throw new ResourceNotFoundException("Attribute not found with id: " + predicate.attributeId());
+            }
+            spec = spec.and(toSpecification(CompiledAttribute.of(attribute), predicate));
+        }
+        return spec;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Specification<Item> toSpecification(CompiledAttribute attribute, AttributePredicate predicate) {
+        AttributeDataType dataType = attribute.getDataType();
+        if (dataType == AttributeDataType.JSON) {
+            throw new ResourceBadRequestException("JSON attribute '" + attribute.getName() + "' cannot be filtered");
+        }
+        if (dataType == AttributeDataType.BOOLEAN && predicate.isRange()) {
+            throw new ResourceBadRequestException("Boolean attribute '" + attribute.getName() + "' only supports eq");
+        }
+        Comparable value = parseFilterValue(attribute, predicate.value());
+        Comparable upper = predicate.upper() != null ? parseFilterValue(attribute, predicate.upper()) : null;
+        return ItemSpecification.attributeMatches(attribute.getAttributeId(), attribute.getValueField(),
+                predicate.operator(), value, upper);
+    }
+
+    private Comparable<?> parseFilterValue(CompiledAttribute attribute, String value) {
+        Object parsed = attribute.parse(value);
+        if (parsed == null) {
+            throw new ResourceBadRequestException("Filter value '" + value + "' for attribute '"
+                    + attribute.getName() + "' " + attribute.check(value));
+        }
+        return (Comparable<?>) parsed;
+    }
+
+    @Transactional(readOnly = true)
+    public Item findById(UUID id) {
+        return repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+    }
+
+    public Item create(RequestItemDTO dto) {
+        if (repository.existsBySerialNumber(dto.getSerialNumber())) {
+            throw new ResourceBadRequestException("Serial number has to be unique.");
+        }
+        Lot lot = findLot(dto.getLotId());
+        Item item = Item.builder()
+            .product(lot.getProduct())
+            .lot(lot)
+            .location(findLocation(dto.getLocationId()))
+            .serialNumber(dto.getSerialNumber())
+            .status(dto.getStatus() != null ? dto.getStatus() : ItemStatus.AVAILABLE)
+            .attributes(new ArrayList<>())
+            .build();
+        writeAttributes(item, dto.getAttributes(), true);
+        Item saved = save(item);
+        facetService.index(saved);
+        return saved;
+    }
+
+    /**
+     * Fields left null keep their value. Attribute values are merged: listed
+     * ones are replaced, a blank value clears an optional attribute.
+     */
+    public Item update(UUID id, RequestItemDTO dto) {
+        Item existing = findById(id);
+        UUID previousTypeId = existing.getProduct().getType().getId();
+        boolean productChanged = false;
+        if (dto.getLotId() != null && !dto.getLotId().equals(existing.getLot().getId())) {
+            Lot lot = findLot(dto.getLotId());
+            productChanged = !lot.getProduct().getId().equals(existing.getProduct().getId());
+            existing.setLot(lot);
+            existing.setProduct(lot.getProduct());
+        }
+        if (dto.getLocationId() != null) {
+            existing.setLocation(findLocation(dto.getLocationId()));
+        }
+        if (dto.getSerialNumber() != null) {
+            existing.setSerialNumber(dto.getSerialNumber());
+        }
+        if (dto.getStatus() != null) {
+            existing.setStatus(dto.getStatus());
+        }
+        if (productChanged) {
+            // The values belong to the old type's schema; the request has to supply them again
+            existing.getAttributes().clear();
+            repository.flush();
+        }
+        writeAttributes(existing, dto.getAttributes(), productChanged);
+        Item saved = save(existing);
+        if (!previousTypeId.equals(saved.getProduct().getType().getId())) {
+            facetService.unindex(previousTypeId, id);
+        }
+        facetService.index(saved);
+        return saved;
+    }
+
+    // The type id is all the facet index needs; values and item go in one statement each
+    public void delete(UUID id) {
+        UUID typeId = repository.findTypeIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + id));
+        repository.deleteAttributesById(id);
+        repository.deleteByIdReturningCount(id);
+        facetService.unindex(typeId, id);
+    }
+
+    private Item save(Item item) {
+        try {
+            return repository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueAttributeService.isDuplicateValue(e)) {
+                throw new ResourceBadRequestException("A unique attribute value is already used by another item of the type.");
+            }
+            if (e.getMessage().contains("unique constraint")) {
+                throw new ResourceBadRequestException("Serial number has to be unique.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks the values against the product type's compiled schema and stores
+     * each in the column of its data type. Existing rows are updated in place
+     * so the (item_id, attribute_id) key is never inserted twice in one flush.
+     */
+    private void writeAttributes(Item item, Map<UUID, String> values, boolean applyDefaults) {
+        TypeAttributeSchema schema = schemaCache.get(item.getProduct().getType().getId());
+        Map<UUID, String> requested = values != null ? values : Map.of();
+        Map<UUID, ItemAttribute> current = new HashMap<>();
+        item.getAttributes().forEach(value -> current.put(value.getAttribute().getId(), value));
+
+        for (Map.Entry<UUID, String> entry : requested.entrySet()) {
+            CompiledAttribute attribute = schema.attribute(entry.getKey());
+            if (attribute == null) {
+                throw new ResourceBadRequestException("Attribute " + entry.getKey() + " is not part of the product type");
+            }
+            String error = attribute.check(entry.getValue());
+            if (error != null) {
+                throw new ResourceBadRequestException("Attribute '" + attribute.getName() + "' " + error);
+            }
+        }
+
+        for (CompiledAttribute attribute : schema.getAttributes()) {
+            String value = requested.containsKey(attribute.getAttributeId())
+                ? requested.get(attribute.getAttributeId())
+                : (applyDefaults ? attribute.getDefaultValue() : null);
+            ItemAttribute stored = current.get(attribute.getAttributeId());
+            boolean touched = requested.containsKey(attribute.getAttributeId()) || applyDefaults;
+
+            if (value == null || value.isBlank()) {
+                if (touched && attribute.isRequired()) {
+                    throw new ResourceBadRequestException("Attribute '" + attribute.getName() + "' is required");
+                }
+                if (touched && stored != null) {
+                    item.getAttributes().remove(stored);
+                }
+                continue;
+            }
+            if (stored == null) {
+                stored = ItemAttribute.builder()
+                    .item(item)
+                    .attribute(attributeRepository.getReferenceById(attribute.getAttributeId()))
+                    .build();
+                item.getAttributes().add(stored);
+            }
+            attribute.assign(stored, value);
+        }
+    }
+
+    private Lot findLot(UUID lotId) {
+        return lotRepository.findById(lotId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lot not found with id: " + lotId));
+    }
+
+    private Location findLocation(UUID locationId) {
+        return locationRepository.findById(locationId)
+            .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + locationId));
+    }
+}
@@ -1,39 +1,78 @@
 package com.brisa.controleEstoque.service;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.Constraints;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.KeysetPaginator;
+import com.brisa.controleEstoque.common.MergePatch;
 import com.brisa.controleEstoque.dto.requests.RequestLocationDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseLocationDTO;
 import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
 import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.LocationMapper;
 import com.brisa.controleEstoque.repository.LocationRepository;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
 import com.brisa.controleEstoque.repository.specification.LocationSpecification;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.fasterxml.jackson.databind.JsonNode;
 
 @Service
 @Transactional
 public class LocationService {
+    public static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "name", String.class);
+    private static final Set<String> PATCHABLE = Set.of("name", "description", "isActive");
+
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
     private final LocationSpecification locationSpecification;
+    private final StockLevelService stockLevelService;
+    private final TupleProjectionRepository projectionRepository;
+    private final PageTotals pageTotals;
+    private final PatchRepository patchRepository;
+    private final MergePatch mergePatch;
 
-    public LocationService(LocationRepository locationRepository, LocationMapper locationMapper) {
+    public LocationService(LocationRepository locationRepository, LocationMapper locationMapper,
+            StockLevelService stockLevelService, TupleProjectionRepository projectionRepository,
+            PageTotals pageTotals, PatchRepository patchRepository, MergePatch mergePatch, TextSearch textSearch) {
         this.locationRepository = locationRepository;
+        this.patchRepository = patchRepository;
+        this.mergePatch = mergePatch;
+        this.projectionRepository = projectionRepository;
+        this.pageTotals = pageTotals;
         this.locationMapper = locationMapper;
-        this.locationSpecification = new LocationSpecification();
+        this.stockLevelService = stockLevelService;
+        this.locationSpecification = new LocationSpecification(textSearch);
     }
 
+    @Transactional(readOnly = true)
     public Page<Location> findAll(Pageable pageable) {
         return locationRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Location findById(UUID id) {
         return locationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
@@ -41,8 +80,10 @@ public class LocationService {
 
     public Location create(RequestLocationDTO dto) {
         try {
-            Location location = locationMapper.toEntity(dto);
-            return locationRepository.save(location);
+            Location location = locationRepository.save(locationMapper.toEntity(dto));
+            pageTotals.evict(Location.class);
+            stockLevelService.initialize(StockScope.LOCATION, location.getId());
+            return location;
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage().contains("unique constraint")) {
                 throw new ResourceBadRequestException("Location name has to be unique.");
@@ -58,6 +99,7 @@ public class LocationService {
         Location existing = findById(id);
         try {
             locationMapper.updateEntityFromDto(dto, existing);
+            pageTotals.evict(Location.class);
             return locationRepository.save(existing);
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage().contains("unique constraint")) {
@@ -67,20 +109,89 @@ public class LocationService {
         }
     }
 
+    /**
+     * Applies a JSON Merge Patch as one UPDATE of the patched columns.
+     *
+     * @param expectedVersion version required by If-Match, or null for none
+     */
+    public Location patch(UUID id, JsonNode body, Long expectedVersion) {
+        MergePatch.Fields<RequestLocationDTO> patch = mergePatch.read(body, RequestLocationDTO.class, PATCHABLE,
+                Set.of("name"));
+        RequestLocationDTO dto = patch.values();
+        Map<String, Object> values = new HashMap<>();
+        if (patch.has("name")) {
+            values.put("name", dto.getName());
+        }
+        if (patch.has("description")) {
+            values.put("description", dto.getDescription());
+        }
+        if (patch.has("isActive")) {
+            values.put("isActive", dto.getIsActive());
+        }
+
+        int updated;
+        try {
+            updated = patchRepository.update(Location.class, id, expectedVersion, values);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage().contains("unique constraint")) {
+                throw new ResourceBadRequestException("Location name has to be unique.");
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (!locationRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Location not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Location " + id + " is no longer at version " + expectedVersion);
+        }
+        pageTotals.evict(Location.class);
+        return findById(id);
+    }
+
     public void delete(UUID id) {
-        if (!locationRepository.existsById(id)) {
+        stockLevelService.remove(StockScope.LOCATION, id);
+        pageTotals.evict(Location.class);
+        int deleted;
+        try {
+            deleted = locationRepository.deleteByIdReturningCount(id);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceBadRequestException("Cannot delete location: it still has movements or items.");
+            }
+            throw e;
+        }
+        if (deleted == 0) {
             throw new ResourceNotFoundException("Location not found with id: " + id);
         }
-        locationRepository.deleteById(id);
     }
 
-    public Page<Location> findAll(String search, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<ResponseLocationDTO> findAll(String search, Pageable pageable, CountMode count) {
+        return projectionRepository.find(Location.class, filter(search), PageTotals.filterKey(search),
+                LocationMapper::listColumns, pageable, count)
+                .map(locationMapper::fromRow);
+    }
+
+    /** Validator of the list with the same filters as {@link #findAll}. */
+    @Transactional(readOnly = true)
+    public ChangeStamp changeStamp(String search) {
+        return projectionRepository.stamp(Location.class, filter(search));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Location> findAllByCursor(String search, String cursor, String sort,
+            Sort.Direction direction, int size) {
+        return KeysetPaginator.fetch(locationRepository, filter(search), cursor, sort, direction, size,
+                CURSOR_SORT_FIELDS);
+    }
+
+    public Specification<Location> filter(String search) {
         Specification<Location> spec = Specification.where(null);
 
         if (search != null && !search.trim().isEmpty()) {
             spec = spec.and(locationSpecification.search(search));
         }
 
-        return locationRepository.findAll(spec, pageable);
+        return spec;
     }
 }
\ No newline at end of file
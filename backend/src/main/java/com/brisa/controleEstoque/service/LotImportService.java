@@ -0,0 +1,240 @@
+package com.brisa.controleEstoque.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brisa.controleEstoque.common.CsvUtils;
+import com.brisa.controleEstoque.common.UuidV7;
+import com.brisa.controleEstoque.common.RecordFormat;
+import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseImportDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseImportDTO.RowError;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk lot import. The body is read line by line and written in chunks, each
+ * chunk in its own transaction: product ids and lot numbers are checked with
+ * one query apiece, then lots and their stock level rows go in as JDBC batches.
+ * A chunk that fails never rolls back the chunks committed before it.
+ */
+@Slf4j
+@Service
+public class LotImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int LOT_NUMBER_MAX_LENGTH = 50;
+
+    private static final String INSERT_LOT =
+            "INSERT INTO lot (id, product_id, lot_number, manufacturing_date, expiration_date, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_STOCK_LEVEL =
+            "INSERT INTO stock_level (scope, ref_id, on_hand, reserved, updated_at) VALUES ('LOT', ?, 0, 0, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PageTotals pageTotals;
+
+    public LotImportService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, Validator validator, PageTotals pageTotals) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.pageTotals = pageTotals;
+    }
+
+    public ResponseImportDTO importLots(Reader body, RecordFormat format) throws IOException {
+        ResponseImportDTO report = new ResponseImportDTO();
+        BufferedReader reader = new BufferedReader(body);
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        Map<String, Integer> header = null;
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == RecordFormat.CSV && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+
+            report.setTotal(report.getTotal() + 1);
+            try {
+                RequestLotDTO lot = format == RecordFormat.CSV ? fromCsv(header, line) : objectMapper.readValue(line, RequestLotDTO.class);
+                // A JSON null line reads as no object at all
+                if (lot == null) {
+                    reject(report, new RowError(lineNumber, null, "Unreadable row: expected a JSON object"));
+                } else {
+                    chunk.add(new Row(lineNumber, lot));
+                }
+            } catch (JsonProcessingException | IllegalArgumentException | DateTimeParseException e) {
+                reject(report, new RowError(lineNumber, null, "Unreadable row: " + e.getMessage()));
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                flush(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, report);
+        }
+
+        log.info("Lot import finished: {} rows, {} imported, {} failed", report.getTotal(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private void flush(List<Row> chunk, ResponseImportDTO report) {
+        List<Row> valid = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (Row row : chunk) {
+            String error = validate(row.lot());
+            if (error == null && !seen.add(row.lot().getLotNumber())) {
+                error = "Duplicate lot number in import";
+            }
+            if (error != null) {
+                reject(report, new RowError(row.line(), row.lot().getLotNumber(), error));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<RowError> rejected = new ArrayList<>();
+        try {
+            Integer inserted = transactionTemplate.execute(status -> insert(valid, rejected));
+            report.setImported(report.getImported() + inserted);
+            rejected.forEach(error -> reject(report, error));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of the lot numbers between the check and the insert
+            log.warn("Lot import chunk rolled back: {}", e.getMostSpecificCause().getMessage());
+            valid.forEach(row -> reject(report, new RowError(row.line(), row.lot().getLotNumber(),
+                    "Not imported: a lot number in this chunk was created concurrently, retry the row")));
+        }
+    }
+
+    private int insert(List<Row> rows, List<RowError> rejected) {
+        Set<UUID> products = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM product WHERE id IN (:ids)",
+                Map.of("ids", rows.stream().map(row -> row.lot().getProductId()).collect(Collectors.toSet())),
+                UUID.class));
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT lot_number FROM lot WHERE lot_number IN (:numbers)",
+                Map.of("numbers", rows.stream().map(row -> row.lot().getLotNumber()).toList()),
+                String.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> lots = new ArrayList<>(rows.size());
+        List<Object[]> levels = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            RequestLotDTO lot = row.lot();
+            if (!products.contains(lot.getProductId())) {
+                rejected.add(new RowError(row.line(), lot.getLotNumber(), "Product not found with id: " + lot.getProductId()));
+            } else if (taken.contains(lot.getLotNumber())) {
+                rejected.add(new RowError(row.line(), lot.getLotNumber(), "Lot number already exists"));
+            } else {
+                UUID id = UuidV7.randomUuid();
+                lots.add(new Object[] { id, lot.getProductId(), lot.getLotNumber(), lot.getManufacturingDate(),
+                        lot.getExpirationDate(), now, now });
+                levels.add(new Object[] { id, now });
+            }
+        }
+
+        if (!lots.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_LOT, lots);
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_STOCK_LEVEL, levels);
+            pageTotals.evict(Lot.class);
+        }
+        return lots.size();
+    }
+
+    private String validate(RequestLotDTO lot) {
+        Set<ConstraintViolation<RequestLotDTO>> violations = validator.validate(lot);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (lot.getLotNumber().length() > LOT_NUMBER_MAX_LENGTH) {
+            return "Lot number cannot exceed " + LOT_NUMBER_MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = CsvUtils.parseLine(line);
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.containsKey("lotnumber") || !header.containsKey("productid")) {
+            throw new ResourceBadRequestException("CSV header must contain lotNumber and productId columns");
+        }
+        return header;
+    }
+
+    private static RequestLotDTO fromCsv(Map<String, Integer> header, String line) {
+        List<String> fields = CsvUtils.parseLine(line);
+        RequestLotDTO lot = new RequestLotDTO();
+        lot.setLotNumber(field(header, fields, "lotnumber"));
+        String productId = field(header, fields, "productid");
+        lot.setProductId(productId == null ? null : UUID.fromString(productId));
+        String manufacturingDate = field(header, fields, "manufacturingdate");
+        lot.setManufacturingDate(manufacturingDate == null ? null : LocalDateTime.parse(manufacturingDate));
+        String expirationDate = field(header, fields, "expirationdate");
+        lot.setExpirationDate(expirationDate == null ? null : LocalDateTime.parse(expirationDate));
+        return lot;
+    }
+
+    private static String field(Map<String, Integer> header, List<String> fields, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static void reject(ResponseImportDTO report, RowError error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private record Row(long line, RequestLotDTO lot) {
+    }
+}
@@ -1,76 +1,238 @@
 package com.brisa.controleEstoque.service;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.Constraints;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.KeysetPaginator;
+import com.brisa.controleEstoque.common.MergePatch;
 import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseLotDTO;
 import com.brisa.controleEstoque.entity.Lot;
-import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.StockLevel;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.LotMapper;
+import com.brisa.controleEstoque.repository.ItemRepository;
 import com.brisa.controleEstoque.repository.LotRepository;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
 import com.brisa.controleEstoque.repository.ProductRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
 import com.brisa.controleEstoque.repository.specification.LotSpecification;
-import org.springframework.data.domain.Page;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class LotService {
+    private static final Set<String> PATCHABLE = Set.of("lotNumber", "productId", "manufacturingDate",
+            "expirationDate");
+    private static final Set<String> REQUIRED = Set.of("lotNumber", "productId");
 
     private final LotRepository repository;
     private final ProductRepository productRepository;
+    private final ItemRepository itemRepository;
     private final LotMapper mapper;
+    private final StockLevelService stockLevelService;
+    private final TupleProjectionRepository projectionRepository;
+    private final PageTotals pageTotals;
+    private final PatchRepository patchRepository;
+    private final MergePatch mergePatch;
+    private final TextSearch textSearch;
 
-    public LotService(LotRepository repository, ProductRepository productRepository, LotMapper mapper) {
+    public LotService(LotRepository repository, ProductRepository productRepository, ItemRepository itemRepository,
+            LotMapper mapper, StockLevelService stockLevelService, TupleProjectionRepository projectionRepository,
+            PageTotals pageTotals, PatchRepository patchRepository, MergePatch mergePatch, TextSearch textSearch) {
         this.repository = repository;
+        this.patchRepository = patchRepository;
+        this.mergePatch = mergePatch;
+        this.textSearch = textSearch;
+        this.projectionRepository = projectionRepository;
+        this.pageTotals = pageTotals;
         this.productRepository = productRepository;
+        this.itemRepository = itemRepository;
         this.mapper = mapper;
+        this.stockLevelService = stockLevelService;
     }
 
-    public Page<Lot> findAll(String search, UUID productId, LocalDateTime manufacturingStartDate, 
+    public static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "lotNumber", String.class);
+
+    // Selects only the response columns: no entities, no product lookups
+    @Transactional(readOnly = true)
+    public Slice<ResponseLotDTO> findAll(String search, UUID productId, LocalDateTime manufacturingStartDate, 
             LocalDateTime manufacturingEndDate, LocalDateTime expirationStartDate, 
-            LocalDateTime expirationEndDate, Pageable pageable) {
+            LocalDateTime expirationEndDate, Pageable pageable, CountMode count) {
+        
+        Specification<Lot> spec = filter(search, productId, manufacturingStartDate, manufacturingEndDate,
+                expirationStartDate, expirationEndDate);
+        List<Object> filterKey = PageTotals.filterKey(search, productId, manufacturingStartDate, manufacturingEndDate,
+                expirationStartDate, expirationEndDate);
         
-        Specification<Lot> spec = Specification.where(LotSpecification.searchByLotNumber(search))
+        return projectionRepository.find(Lot.class, spec, filterKey, LotMapper::listColumns, pageable, count)
+                .map(mapper::fromRow);
+    }
+
+    /** Validator of the list with the same filters as {@link #findAll}. */
+    @Transactional(readOnly = true)
+    public ChangeStamp changeStamp(String search, UUID productId, LocalDateTime manufacturingStartDate,
+            LocalDateTime manufacturingEndDate, LocalDateTime expirationStartDate,
+            LocalDateTime expirationEndDate) {
+        return projectionRepository.stamp(Lot.class, filter(search, productId, manufacturingStartDate,
+                manufacturingEndDate, expirationStartDate, expirationEndDate));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Lot> findAllByCursor(String search, UUID productId, LocalDateTime manufacturingStartDate,
+            LocalDateTime manufacturingEndDate, LocalDateTime expirationStartDate,
+            LocalDateTime expirationEndDate, String cursor, String sort, Sort.Direction direction, int size) {
+
+        Specification<Lot> spec = filter(search, productId, manufacturingStartDate, manufacturingEndDate,
+                expirationStartDate, expirationEndDate);
+
+        return KeysetPaginator.fetch(repository, spec, cursor, sort, direction, size, CURSOR_SORT_FIELDS);
+    }
+
+    public Specification<Lot> filter(String search, UUID productId, LocalDateTime manufacturingStartDate,
+            LocalDateTime manufacturingEndDate, LocalDateTime expirationStartDate,
+            LocalDateTime expirationEndDate) {
+        return Specification.where(LotSpecification.searchByLotNumber(textSearch, search))
             .and(LotSpecification.searchByProductId(productId))
             .and(LotSpecification.searchByManufacturingDate(manufacturingStartDate, manufacturingEndDate))
             .and(LotSpecification.searchByExpirationDate(expirationStartDate, expirationEndDate));
-        
-        return repository.findAll(spec, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Lot findById(UUID id) {
         return repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Lot not found with id: " + id));
     }
 
     public Lot create(RequestLotDTO dto) {
-        Product product = productRepository.findById(dto.getProductId())
-            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + dto.getProductId()));
-        
         Lot lot = mapper.toEntity(dto);
-        lot.setProduct(product);
-        return repository.save(lot);
+        // The foreign key checks the product; no need to load it
+        lot.setProduct(productRepository.getReferenceById(dto.getProductId()));
+        Lot saved = save(lot);
+        pageTotals.evict(Lot.class);
+        stockLevelService.initialize(StockScope.LOT, saved.getId());
+        return saved;
     }
 
     public Lot update(UUID id, RequestLotDTO dto) {
         Lot existing = findById(id);
-        Product product = productRepository.findById(dto.getProductId())
-            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + dto.getProductId()));
-        
+        if (!dto.getProductId().equals(existing.getProduct().getId())) {
+            checkMovable(id);
+        }
+
         mapper.updateEntityFromDto(dto, existing);
-        existing.setProduct(product);
-        return repository.save(existing);
+        existing.setProduct(productRepository.getReferenceById(dto.getProductId()));
+        pageTotals.evict(Lot.class);
+        return save(existing);
+    }
+
+    /**
+     * Applies a JSON Merge Patch as one UPDATE of the patched columns.
+     *
+     * @param expectedVersion version required by If-Match, or null for none
+     */
+    public Lot patch(UUID id, JsonNode body, Long expectedVersion) {
+        MergePatch.Fields<RequestLotDTO> patch = mergePatch.read(body, RequestLotDTO.class, PATCHABLE, REQUIRED);
+        RequestLotDTO dto = patch.values();
+        Map<String, Object> values = new HashMap<>();
+        if (patch.has("lotNumber")) {
+            values.put("lotNumber", dto.getLotNumber());
+        }
+        if (patch.has("productId")) {
+            // Only a product change needs the current row
+            if (!findById(id).getProduct().getId().equals(dto.getProductId())) {
+                checkMovable(id);
+            }
+            values.put("product", productRepository.getReferenceById(dto.getProductId()));
+        }
+        if (patch.has("manufacturingDate")) {
+            values.put("manufacturingDate", dto.getManufacturingDate());
+        }
+        if (patch.has("expirationDate")) {
+            values.put("expirationDate", dto.getExpirationDate());
+        }
+
+        int updated;
+        try {
+            updated = patchRepository.update(Lot.class, id, expectedVersion, values);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Product not found with id: " + dto.getProductId());
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (!repository.existsById(id)) {
+                throw new ResourceNotFoundException("Lot not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Lot " + id + " is no longer at version " + expectedVersion);
+        }
+        pageTotals.evict(Lot.class);
+        return findById(id);
+    }
+
+    private Lot save(Lot lot) {
+        try {
+            return repository.saveAndFlush(lot);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Product not found with id: " + lot.getProduct().getId());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A lot only changes product while nothing hangs off the old one: its
+     * stock counts toward the product's totals, and its items carry the
+     * product along with its type's attribute values, unique scope and facets.
+     */
+    private void checkMovable(UUID id) {
+        StockLevel level = stockLevelService.findLevels(StockScope.LOT, List.of(id)).get(id);
+        if (level != null && (level.getOnHand() != 0 || level.getReserved() != 0)) {
+            throw new ResourceBadRequestException("Cannot move a lot that holds stock to another product");
+        }
+        if (itemRepository.existsByLotId(id)) {
+            throw new ResourceBadRequestException("Cannot move a lot that has items to another product");
+        }
     }
 
     public void delete(UUID id) {
-        if (!repository.existsById(id)) {
+        stockLevelService.remove(StockScope.LOT, id);
+        pageTotals.evict(Lot.class);
+        int deleted;
+        try {
+            deleted = repository.deleteByIdReturningCount(id);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceBadRequestException("Cannot delete lot: it still has movements or items.");
+            }
+            throw e;
+        }
+        if (deleted == 0) {
             throw new ResourceNotFoundException("Lot not found with id: " + id);
         }
-        repository.deleteById(id);
     }
 }
@@ -1,39 +1,82 @@
 package com.brisa.controleEstoque.service;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.Constraints;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.KeysetPaginator;
+import com.brisa.controleEstoque.common.MergePatch;
 import com.brisa.controleEstoque.dto.requests.RequestProductDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseProductDTO;
 import com.brisa.controleEstoque.entity.Product;
-import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.ProductMapper;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
 import com.brisa.controleEstoque.repository.ProductRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
 import com.brisa.controleEstoque.repository.TypeRepository;
 import com.brisa.controleEstoque.repository.specification.ProductSpecification;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class ProductService {
+    public static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "name", String.class);
+    private static final Set<String> PATCHABLE = Set.of("name", "typeId", "description");
+    private static final Set<String> REQUIRED = Set.of("name", "typeId");
+
     private final ProductRepository repository;
     private final TypeRepository typeRepository;
     private final ProductMapper productMapper;
     private final ProductSpecification productSpecification;
+    private final TupleProjectionRepository projectionRepository;
+    private final PageTotals pageTotals;
+    private final PatchRepository patchRepository;
+    private final MergePatch mergePatch;
+    private final UniqueAttributeService uniqueAttributeService;
+    private final FacetService facetService;
 
-    public ProductService(ProductRepository repository, TypeRepository typeRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository repository, TypeRepository typeRepository, ProductMapper productMapper,
+            TupleProjectionRepository projectionRepository, PageTotals pageTotals, PatchRepository patchRepository,
+            MergePatch mergePatch, TextSearch textSearch, UniqueAttributeService uniqueAttributeService,
+            FacetService facetService) {
         this.repository = repository;
+        this.patchRepository = patchRepository;
+        this.mergePatch = mergePatch;
+        this.projectionRepository = projectionRepository;
+        this.pageTotals = pageTotals;
         this.typeRepository = typeRepository;
         this.productMapper = productMapper;
-        this.productSpecification = new ProductSpecification();
+        this.productSpecification = new ProductSpecification(textSearch);
+        this.uniqueAttributeService = uniqueAttributeService;
+        this.facetService = facetService;
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> findAll(Pageable pageable) {
         return repository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Product findById(UUID id) {
         return repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -41,36 +84,131 @@ public class ProductService {
 
     public Product create(RequestProductDTO dto) {
         Product product = productMapper.toEntity(dto);
+        // The foreign key checks the type; no need to load it
+        product.setType(typeRepository.getReferenceById(dto.getTypeId()));
         
-        Type type = typeRepository.findById(dto.getTypeId())
-            .orElseThrow(() -> new ResourceNotFoundException("Type not found with id: " + dto.getTypeId()));
-        
-        product.setType(type);
-        
-        return repository.save(product);
+        Product saved = save(product);
+        pageTotals.evict(Product.class);
+        return saved;
     }
 
     public Product update(UUID id, RequestProductDTO dto) {
         Product existing = findById(id);
-        Type type = typeRepository.findById(dto.getTypeId())
-            .orElseThrow(() -> new ResourceNotFoundException("Type not found with id: " + dto.getTypeId()));
-        existing.setType(type);
+        UUID previousTypeId = existing.getType().getId();
+        existing.setType(typeRepository.getReferenceById(dto.getTypeId()));
         productMapper.updateEntityFromDto(dto, existing);
-        return repository.save(existing);
+        pageTotals.evict(Product.class);
+        Product saved = save(existing);
+        moveItems(id, previousTypeId, dto.getTypeId());
+        return saved;
+    }
+
+    /**
+     * Applies a JSON Merge Patch as one UPDATE of the patched columns.
+     *
+     * @param expectedVersion version required by If-Match, or null for none
+     */
+    public Product patch(UUID id, JsonNode body, Long expectedVersion) {
+        MergePatch.Fields<RequestProductDTO> patch = mergePatch.read(body, RequestProductDTO.class, PATCHABLE, REQUIRED);
+        RequestProductDTO dto = patch.values();
+        Map<String, Object> values = new HashMap<>();
+        if (patch.has("name")) {
+            values.put("name", dto.getName());
+        }
+        if (patch.has("description")) {
+            values.put("description", dto.getDescription());
+        }
+        UUID previousTypeId = null;
+        if (patch.has("typeId")) {
+            values.put("type", typeRepository.getReferenceById(dto.getTypeId()));
+            previousTypeId = repository.findById(id).map(product -> product.getType().getId()).orElse(null);
+        }
+
+        int updated;
+        try {
+            updated = patchRepository.update(Product.class, id, expectedVersion, values);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Type not found with id: " + dto.getTypeId());
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (!repository.existsById(id)) {
+                throw new ResourceNotFoundException("Product not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Product " + id + " is no longer at version " + expectedVersion);
+        }
+        if (previousTypeId != null) {
+            moveItems(id, previousTypeId, dto.getTypeId());
+        }
+        pageTotals.evict(Product.class);
+        return findById(id);
     }
 
     public void delete(UUID id) {
-        if (!repository.existsById(id)) {
+        pageTotals.evict(Product.class);
+        int deleted;
+        try {
+            deleted = repository.deleteByIdReturningCount(id);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceBadRequestException("Cannot delete product: it is still referenced by lots or items.");
+            }
+            throw e;
+        }
+        if (deleted == 0) {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
-        repository.deleteById(id);
     }
 
+    // Item values follow the product into the new type's unique scopes and facet counts
+    private void moveItems(UUID productId, UUID fromTypeId, UUID toTypeId) {
+        if (fromTypeId.equals(toTypeId)) {
+            return;
+        }
+        uniqueAttributeService.moveProduct(productId, fromTypeId, toTypeId);
+        facetService.moveProduct(productId, fromTypeId);
+    }
+
+    private Product save(Product product) {
+        try {
+            return repository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Type not found with id: " + product.getType().getId());
+            }
+            throw e;
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Product> findByTypeId(UUID typeId, Pageable pageable) {
         return repository.findByTypeId(typeId, pageable);
     }
 
-    public Page<Product> findAll(String search, UUID typeId, Pageable pageable) {
+    // Selects only the response columns: no entities, no type lookups
+    @Transactional(readOnly = true)
+    public Slice<ResponseProductDTO> findAll(String search, UUID typeId, Pageable pageable, CountMode count) {
+        return projectionRepository.find(Product.class, filter(search, typeId), PageTotals.filterKey(search, typeId),
+                ProductMapper::listColumns, pageable, count)
+                .map(productMapper::fromRow);
+    }
+
+    /** Validator of the list with the same filters as {@link #findAll}. */
+    @Transactional(readOnly = true)
+    public ChangeStamp changeStamp(String search, UUID typeId) {
+        return projectionRepository.stamp(Product.class, filter(search, typeId));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Product> findAllByCursor(String search, UUID typeId, String cursor, String sort,
+            Sort.Direction direction, int size) {
+        return KeysetPaginator.fetch(repository, filter(search, typeId), cursor, sort, direction, size,
+                CURSOR_SORT_FIELDS);
+    }
+
+    public Specification<Product> filter(String search, UUID typeId) {
         Specification<Product> spec = Specification.where(null);
 
         if (search != null && !search.trim().isEmpty()) {
@@ -81,6 +219,6 @@ public class ProductService {
             spec = spec.and(productSpecification.byType(typeId));
         }
 
-        return repository.findAll(spec, pageable);
+        return spec;
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.brisa.controleEstoque.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brisa.controleEstoque.common.UuidV7;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.SchemaChangeJob;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.entity.enums.SchemaJobStatus;
+import com.brisa.controleEstoque.facet.FacetIndex;
+import com.brisa.controleEstoque.repository.SchemaChangeJobRepository;
+import com.brisa.controleEstoque.repository.TypeAttributeRepository;
+import com.brisa.controleEstoque.schema.CompiledAttribute;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes {@link SchemaChangeJob}s. Each chunk is its own short transaction:
+ * it reads the next items of the type after the checkpoint, inserts the
+ * missing attribute rows as one JDBC batch and moves the checkpoint, so a
+ * crash loses at most the chunk in flight. A tick stops after
+ * {@code app.schema-jobs.max-run} to leave the shared scheduler thread to
+ * the other jobs; the next tick continues from the checkpoint.
+ */
+@Slf4j
+@Component
+public class SchemaChangeJobRunner {
+
+    private static final String NEXT_ITEMS =
+            "SELECT i.id FROM item i JOIN product p ON p.id = i.product_id WHERE p.type_id = ? ";
+    private static final String COUNT_ITEMS =
+            "SELECT COUNT(*) FROM item i JOIN product p ON p.id = i.product_id WHERE p.type_id = ?";
+    private static final String INSERT_MISSING =
+            "INSERT INTO item_attribute (id, item_id, attribute_id, value_text, value_number, value_date, value_boolean, value_json) "
+            + "SELECT ?, ?, ?, ?, ?, ?, ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM item_attribute WHERE item_id = ? AND attribute_id = ?)";
+
+    private final SchemaChangeJobRepository repository;
+    private final TypeAttributeRepository typeAttributeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FacetIndex facetIndex;
+    private final int chunkSize;
+    private final Duration lease;
+    private final Duration maxRun;
+
+    public SchemaChangeJobRunner(SchemaChangeJobRepository repository, TypeAttributeRepository typeAttributeRepository,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, FacetIndex facetIndex,
+            @Value("${app.schema-jobs.chunk-size:500}") int chunkSize,
+            @Value("${app.schema-jobs.lease:PT2M}") Duration lease,
+            @Value("${app.schema-jobs.max-run:PT30S}") Duration maxRun) {
+        this.repository = repository;
+        this.typeAttributeRepository = typeAttributeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.facetIndex = facetIndex;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.maxRun = maxRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.schema-jobs.poll-interval:PT5S}")
+    public void run() {
+        SchemaChangeJob job = transactionTemplate.execute(status -> claim());
+        if (job == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxRun.toNanos();
+        try {
+            boolean more = true;
+            while (more && System.nanoTime() < deadline) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> applyChunk(job, status)));
+            }
+        } catch (RuntimeException e) {
+            log.error("Schema change job {} failed", job.getId(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            transactionTemplate.executeWithoutResult(status -> repository.finish(job.getId(), SchemaJobStatus.FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message, SchemaJobStatus.RUNNING));
+        }
+    }
+
+    private SchemaChangeJob claim() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(lease);
+        for (SchemaChangeJob candidate : repository.findRunnable(SchemaJobStatus.PENDING, SchemaJobStatus.RUNNING,
+                staleBefore, PageRequest.of(0, 5))) {
+            if (repository.claim(candidate.getId(), SchemaJobStatus.PENDING, SchemaJobStatus.RUNNING, staleBefore) == 1) {
+                SchemaChangeJob job = repository.findById(candidate.getId()).orElseThrow();
+                if (job.getTotal() == null) {
+                    job.setTotal(jdbcTemplate.queryForObject(COUNT_ITEMS, Long.class, job.getTypeId()));
+                    job = repository.save(job);
+                }
+                log.info("Running schema change job {} from checkpoint {}", job.getId(), job.getCheckpoint());
+                return job;
+            }
+        }
+        return null;
+    }
+
+    /** @return whether the job has more items to process */
+    private boolean applyChunk(SchemaChangeJob job, TransactionStatus status) {
+        TypeAttribute typeAttribute = typeAttributeRepository
+                .findById(new TypeAttribute.TypeAttributeId(job.getTypeId(), job.getAttributeId()))
+                .orElse(null);
+        if (typeAttribute == null) {
+            repository.finish(job.getId(), SchemaJobStatus.CANCELLED, "Attribute was removed from the type",
+                    SchemaJobStatus.RUNNING);
+            return false;
+        }
+
+        List<UUID> itemIds = job.getCheckpoint() == null
+                ? jdbcTemplate.queryForList(NEXT_ITEMS + "ORDER BY i.id LIMIT " + chunkSize, UUID.class, job.getTypeId())
+                : jdbcTemplate.queryForList(NEXT_ITEMS + "AND i.id > ? ORDER BY i.id LIMIT " + chunkSize, UUID.class,
+                        job.getTypeId(), job.getCheckpoint());
+        if (itemIds.isEmpty()) {
+            repository.finish(job.getId(), SchemaJobStatus.COMPLETED, null, SchemaJobStatus.RUNNING);
+            log.info("Schema change job {} completed", job.getId());
+            return false;
+        }
+
+        CompiledAttribute attribute = CompiledAttribute.of(typeAttribute);
+        String invalid = attribute.check(job.getDefaultValue());
+        if (invalid != null) {
+            // The attribute's data type or options changed after the job was created
+            repository.finish(job.getId(), SchemaJobStatus.FAILED, "Default value " + invalid, SchemaJobStatus.RUNNING);
+            return false;
+        }
+        ItemAttribute value = new ItemAttribute();
+        attribute.assign(value, job.getDefaultValue());
+        jdbcTemplate.batchUpdate(INSERT_MISSING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                UUID itemId = itemIds.get(i);
+                statement.setObject(1, UuidV7.randomUuid());
+                statement.setObject(2, itemId);
+                statement.setObject(3, job.getAttributeId());
+                setNullable(statement, 4, value.getValueText(), Types.VARCHAR);
+                setNullable(statement, 5, value.getValueNumber(), Types.DOUBLE);
+                setNullable(statement, 6, value.getValueDate(), Types.DATE);
+                setNullable(statement, 7, value.getValueBoolean(), Types.BOOLEAN);
+                setNullable(statement, 8, value.getValueJson(), Types.VARCHAR);
+                statement.setObject(9, itemId);
+                statement.setObject(10, job.getAttributeId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return itemIds.size();
+            }
+        });
+
+        UUID last = itemIds.get(itemIds.size() - 1);
+        if (repository.advance(job.getId(), last, itemIds.size(), SchemaJobStatus.RUNNING) == 0) {
+            // Cancelled meanwhile; drop this chunk
+            status.setRollbackOnly();
+            return false;
+        }
+        job.setCheckpoint(last);
+        if (attribute.getDataType() == AttributeDataType.SELECT || attribute.getDataType() == AttributeDataType.BOOLEAN) {
+            facetIndex.addIfAbsent(job.getTypeId(), itemIds, job.getAttributeId(),
+                    value.getValueBoolean() != null ? value.getValueBoolean().toString() : value.getValueText());
+        }
+        if (itemIds.size() < chunkSize) {
+            repository.finish(job.getId(), SchemaJobStatus.COMPLETED, null, SchemaJobStatus.RUNNING);
+            log.info("Schema change job {} completed", job.getId());
+            return false;
+        }
+        return true;
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
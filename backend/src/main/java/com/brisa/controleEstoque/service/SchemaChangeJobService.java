@@ -0,0 +1,68 @@
+package com.brisa.controleEstoque.service;
+
+import com.brisa.controleEstoque.entity.SchemaChangeJob;
+import com.brisa.controleEstoque.entity.enums.SchemaJobStatus;
+import com.brisa.controleEstoque.entity.enums.SchemaJobType;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.repository.SchemaChangeJobRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class SchemaChangeJobService {
+
+    private final SchemaChangeJobRepository repository;
+
+    public SchemaChangeJobService(SchemaChangeJobRepository repository) {
+        this.repository = repository;
+    }
+
+    /** Queues filling {@code defaultValue} into the type's items that lack the attribute. */
+    public SchemaChangeJob scheduleApplyDefault(UUID typeId, UUID attributeId, String defaultValue) {
+        return repository.save(SchemaChangeJob.builder()
+                .jobType(SchemaJobType.APPLY_DEFAULT)
+                .typeId(typeId)
+                .attributeId(attributeId)
+                .defaultValue(defaultValue)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SchemaChangeJob> findAll(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SchemaChangeJob findById(UUID id) {
+        return repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Schema change job not found with id: " + id));
+    }
+
+    /** Puts a failed or cancelled job back in the queue; it resumes from its checkpoint. */
+    public SchemaChangeJob retry(UUID id) {
+        findById(id);
+        if (repository.transition(id, List.of(SchemaJobStatus.FAILED, SchemaJobStatus.CANCELLED),
+                SchemaJobStatus.PENDING, null, null) == 0) {
+            throw new ResourceBadRequestException("Only failed or cancelled jobs can be retried");
+        }
+        return findById(id);
+    }
+
+    /** Stops a job; a chunk in flight is rolled back by the runner's status check. */
+    public SchemaChangeJob cancel(UUID id) {
+        findById(id);
+        if (repository.transition(id, List.of(SchemaJobStatus.PENDING, SchemaJobStatus.RUNNING),
+                SchemaJobStatus.CANCELLED, "Cancelled", LocalDateTime.now()) == 0) {
+            throw new ResourceBadRequestException("Only pending or running jobs can be cancelled");
+        }
+        return findById(id);
+    }
+}
@@ -0,0 +1,241 @@
+package com.brisa.controleEstoque.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brisa.controleEstoque.common.CheckValues;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.LotLocationStock;
+import com.brisa.controleEstoque.entity.LotLocationStock.LotLocationStockId;
+import com.brisa.controleEstoque.entity.StockLevel;
+import com.brisa.controleEstoque.entity.StockLevel.StockLevelId;
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.repository.LotLocationStockRepository;
+import com.brisa.controleEstoque.repository.LotRepository;
+import com.brisa.controleEstoque.repository.ProductRepository;
+import com.brisa.controleEstoque.repository.StockLevelRepository;
+
+/**
+ * Maintains the per product, lot and location totals and the balance of each
+ * lot at each location. Every change is a single conditional UPDATE on the
+ * row, run inside the caller's transaction, so the totals commit or roll back
+ * together with the mutation itself.
+ */
+@Service
+@Transactional
+public class StockLevelService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    // Lot rows, then location rows, then the product rows every lot of the product shares, each by id
+    private static final Comparator<StockLevelId> LOCK_ORDER = Comparator
+        .comparingInt((StockLevelId id) -> lockRank(id.getScope()))
+        .thenComparing(StockLevelId::getRefId);
+
+    private static final Comparator<LotLocationStockId> BALANCE_ORDER = Comparator
+        .comparing(LotLocationStockId::getLotId)
+        .thenComparing(LotLocationStockId::getLocationId);
+
+    private final StockLevelRepository repository;
+    private final LotLocationStockRepository balanceRepository;
+    private final LotRepository lotRepository;
+    private final ProductRepository productRepository;
+
+    // Switched on at startup on PostgreSQL, where INSERT ... ON CONFLICT is available
+    private volatile boolean upsert = false;
+
+    public StockLevelService(StockLevelRepository repository, LotLocationStockRepository balanceRepository,
+            LotRepository lotRepository, ProductRepository productRepository) {
+        this.repository = repository;
+        this.balanceRepository = balanceRepository;
+        this.lotRepository = lotRepository;
+        this.productRepository = productRepository;
+    }
+
+    public void useUpsert(boolean enabled) {
+        this.upsert = enabled;
+    }
+
+    public void initialize(StockScope scope, UUID refId) {
+        StockLevelId id = new StockLevelId(scope, refId);
+        if (!repository.existsById(id)) {
+            repository.save(StockLevel.builder().id(id).build());
+        }
+    }
+
+    public void remove(StockScope scope, UUID refId) {
+        repository.deleteByScopeAndRefId(scope, refId);
+    }
+
+    /**
+     * Applies the ledger rows of one movement. The rows' changes are netted
+     * per row and written in a fixed order: lot totals, the lot's balance at
+     * each location, location totals, product totals. Two transfers between
+     * the same locations in opposite directions wait on each other instead of
+     * deadlocking, and the busiest rows are locked last. Outgoing stock is
+     * checked against the lot's unreserved quantity, against what the lot
+     * holds at the location it leaves and against what that location holds;
+     * transfers only move stock between locations, so they leave the lot and
+     * product totals alone.
+     */
+    public void apply(List<InventoryMovement> movements) {
+        Map<StockLevelId, Long> deltas = new TreeMap<>(LOCK_ORDER);
+        Map<LotLocationStockId, Long> balances = new TreeMap<>(BALANCE_ORDER);
+        for (InventoryMovement movement : movements) {
+            UUID lotId = movement.getLot().getId();
+            UUID locationId = movement.getLocation().getId();
+            if (movement.getMovementType() != MovementType.TRANSFER) {
+                deltas.merge(new StockLevelId(StockScope.LOT, lotId), movement.getQuantity(), Long::sum);
+                deltas.merge(new StockLevelId(StockScope.PRODUCT, movement.getProduct().getId()), movement.getQuantity(), Long::sum);
+            }
+            balances.merge(new LotLocationStockId(lotId, locationId), movement.getQuantity(), Long::sum);
+            deltas.merge(new StockLevelId(StockScope.LOCATION, locationId), movement.getQuantity(), Long::sum);
+        }
+        deltas.forEach((id, delta) -> {
+            if (id.getScope() == StockScope.LOT) {
+                change(id, delta);
+            }
+        });
+        balances.forEach(this::change);
+        deltas.forEach((id, delta) -> {
+            if (id.getScope() != StockScope.LOT) {
+                change(id, delta);
+            }
+        });
+    }
+
+    public StockLevel reserve(UUID lotId, Long quantity) {
+        CheckValues.checkLongValue(quantity);
+        Lot lot = findLot(lotId);
+        if (repository.reserve(StockScope.LOT, lotId, quantity) == 0) {
+            throw new ResourceBadRequestException("Not enough available stock in lot " + lotId);
+        }
+        UUID productId = lot.getProduct().getId();
+        if (repository.reserve(StockScope.PRODUCT, productId, quantity) == 0) {
+            throw new ResourceBadRequestException("Not enough available stock in product " + productId);
+        }
+        return findLevel(StockScope.LOT, lotId);
+    }
+
+    public StockLevel release(UUID lotId, Long quantity) {
+        CheckValues.checkLongValue(quantity);
+        Lot lot = findLot(lotId);
+        if (repository.release(StockScope.LOT, lotId, quantity) == 0) {
+            throw new ResourceBadRequestException("Cannot release more than is reserved in lot " + lotId);
+        }
+        UUID productId = lot.getProduct().getId();
+        if (repository.release(StockScope.PRODUCT, productId, quantity) == 0) {
+            throw new ResourceBadRequestException("Cannot release more than is reserved in product " + productId);
+        }
+        return findLevel(StockScope.LOT, lotId);
+    }
+
+    @Transactional(readOnly = true)
+    public StockLevel findLevel(StockScope scope, UUID refId) {
+        StockLevelId id = new StockLevelId(scope, refId);
+        return repository.findById(id).orElseGet(() -> {
+            // Product rows are created by the first movement; until then the product holds nothing
+            if (scope == StockScope.PRODUCT && productRepository.existsById(refId)) {
+                return StockLevel.builder().id(id).build();
+            }
+            throw new ResourceNotFoundException("No stock level for " + scope + " " + refId);
+        });
+    }
+
+    /** Batched primary key lookup for a page of rows; ids without a row are absent from the map. */
+    @Transactional(readOnly = true)
+    public Map<UUID, StockLevel> findLevels(StockScope scope, Collection<UUID> refIds) {
+        Map<UUID, StockLevel> levels = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(refIds);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            for (StockLevel level : repository.findByIdScopeAndIdRefIdIn(scope, chunk)) {
+                levels.put(level.getId().getRefId(), level);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * {@link #findLevels} in a read-write transaction, so it runs on the
+     * primary: responses to a write must show the levels it left behind, which
+     * a lagging replica may not have yet.
+     */
+    public Map<UUID, StockLevel> findLevelsOnPrimary(StockScope scope, Collection<UUID> refIds) {
+        return findLevels(scope, refIds);
+    }
+
+    /** When any stock level of the scope last changed, or null when the scope has none. */
+    @Transactional(readOnly = true)
+    public LocalDateTime lastModified(StockScope scope) {
+        return repository.findLastModified(scope);
+    }
+
+    private void change(StockLevelId id, long delta) {
+        if (delta > 0) {
+            add(id.getScope(), id.getRefId(), delta);
+        } else if (delta < 0) {
+            remove(id.getScope(), id.getRefId(), -delta);
+        }
+    }
+
+    private void change(LotLocationStockId id, long delta) {
+        if (delta > 0) {
+            if (upsert) {
+                balanceRepository.upsertOnHand(id.getLotId(), id.getLocationId(), delta);
+            } else if (balanceRepository.addOnHand(id.getLotId(), id.getLocationId(), delta) == 0) {
+                balanceRepository.save(LotLocationStock.builder().id(id).onHand(delta).build());
+            }
+        } else if (delta < 0 && balanceRepository.removeOnHand(id.getLotId(), id.getLocationId(), -delta) == 0) {
+            throw new ResourceBadRequestException("Not enough stock of lot " + id.getLotId()
+                + " at location " + id.getLocationId());
+        }
+    }
+
+    private void add(StockScope scope, UUID refId, long delta) {
+        if (upsert) {
+            repository.upsertOnHand(scope.name(), refId, delta);
+        } else if (repository.addOnHand(scope, refId, delta) == 0) {
+            repository.save(StockLevel.builder().id(new StockLevelId(scope, refId)).onHand(delta).build());
+        }
+    }
+
+    private void remove(StockScope scope, UUID refId, long quantity) {
+        if (scope == StockScope.LOT) {
+            if (repository.removeAvailable(scope, refId, quantity) == 0) {
+                throw new ResourceBadRequestException("Not enough available stock in lot " + refId);
+            }
+        } else if (repository.removeOnHand(scope, refId, quantity) == 0) {
+            throw new ResourceBadRequestException(scope == StockScope.LOCATION
+                ? "Not enough stock at location " + refId
+                : "Not enough stock in product " + refId);
+        }
+    }
+
+    private static int lockRank(StockScope scope) {
+        return switch (scope) {
+            case LOT -> 0;
+            case LOCATION -> 1;
+            case PRODUCT -> 2;
+        };
+    }
+
+    private Lot findLot(UUID lotId) {
+        return lotRepository.findById(lotId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lot not found with id: " + lotId));
+    }
+}
@@ -0,0 +1,160 @@
+package com.brisa.controleEstoque.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brisa.controleEstoque.dto.responses.ResponseStockDTO;
+import com.brisa.controleEstoque.entity.StockSnapshot;
+import com.brisa.controleEstoque.entity.StockSnapshotRun;
+import com.brisa.controleEstoque.repository.InventoryMovementRepository;
+import com.brisa.controleEstoque.repository.StockSnapshotRepository;
+import com.brisa.controleEstoque.repository.StockSnapshotRunRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Current stock = latest snapshot per (lot, location) + the movements created
+ * after the latest run's watermark. Snapshots are folded in periodically, so a
+ * read only ever sums the short tail of the ledger, however long history gets.
+ * <p>
+ * The watermark is a creation time rather than an id: sequence values are
+ * handed out in blocks per instance, so ids are not in commit order. A run
+ * only folds movements created more than the commit grace ago, by when every
+ * transaction that wrote one has committed, so no row lands behind the
+ * watermark after it has moved. The ledger itself is never updated.
+ */
+@Slf4j
+@Service
+@Transactional
+public class StockService {
+
+    private static final int LOT_CHUNK_SIZE = 1000;
+
+    // Watermark before the first run: the whole ledger is the tail
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final InventoryMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockSnapshotRunRepository runRepository;
+    private final Duration snapshotRetention;
+    private final Duration commitGrace;
+
+    public StockService(InventoryMovementRepository movementRepository, StockSnapshotRepository snapshotRepository,
+            StockSnapshotRunRepository runRepository,
+            @Value("${app.stock.snapshot.retention:PT10M}") Duration snapshotRetention,
+            @Value("${app.stock.snapshot.commit-grace:PT30S}") Duration commitGrace) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.runRepository = runRepository;
+        this.snapshotRetention = snapshotRetention;
+        this.commitGrace = commitGrace;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResponseStockDTO> findStock(UUID productId, UUID lotId, UUID locationId) {
+        // Both reads are pinned to the same run so a snapshot run landing in
+        // between cannot make a movement count twice: its rows are newer than
+        // the run and its movements are past the watermark
+        StockSnapshotRun watermark = latestRun();
+
+        Map<String, ResponseStockDTO> balances = new LinkedHashMap<>();
+        for (StockSnapshot snapshot : snapshotRepository.findLatest(productId, lotId, locationId, watermark.getId())) {
+            balances.put(key(snapshot.getLotId(), snapshot.getLocationId()), new ResponseStockDTO(
+                    snapshot.getProductId(), snapshot.getLotId(), snapshot.getLocationId(), snapshot.getQuantity()));
+        }
+        for (ResponseStockDTO delta : movementRepository.sumByKeyAfter(watermark.getFoldedThrough(), productId,
+                lotId, locationId)) {
+            balances.merge(key(delta.getLotId(), delta.getLocationId()), delta, (current, tail) -> {
+                current.setQuantity(current.getQuantity() + tail.getQuantity());
+                return current;
+            });
+        }
+        return new ArrayList<>(balances.values());
+    }
+
+    /**
+     * Folds the movements created between the previous watermark and the
+     * commit grace ago into new snapshot rows for the (lot, location) pairs
+     * they touched, and records the run with its new watermark. Both commit
+     * together, so each movement is counted by exactly one run or still sits
+     * in the tail. Superseded rows are then pruned, which keeps the
+     * latest-row lookups from scanning the whole history.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.snapshot.interval:PT1M}")
+    public void snapshot() {
+        StockSnapshotRun previous = latestRun();
+        if (previous.getId() == 0) {
+            // Rows left by runs that marked movements instead of recording a watermark; the
+            // first run rebuilds them from the whole ledger
+            snapshotRepository.deleteAllInBatch();
+        }
+        LocalDateTime through = LocalDateTime.now().minus(commitGrace);
+        if (!through.isAfter(previous.getFoldedThrough())) {
+            return;
+        }
+        List<ResponseStockDTO> deltas = movementRepository.sumByKeyBetween(previous.getFoldedThrough(), through);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long run = previous.getId() + 1;
+        Map<String, Long> base = latestQuantities(deltas.stream().map(ResponseStockDTO::getLotId).collect(Collectors.toSet()), previous.getId());
+
+        List<StockSnapshot> snapshots = deltas.stream()
+            .map(delta -> StockSnapshot.builder()
+                .productId(delta.getProductId())
+                .lotId(delta.getLotId())
+                .locationId(delta.getLocationId())
+                .quantity(base.getOrDefault(key(delta.getLotId(), delta.getLocationId()), 0L) + delta.getQuantity())
+                .snapshotRun(run)
+                .build())
+            .toList();
+        try {
+            runRepository.saveAndFlush(StockSnapshotRun.builder().id(run).foldedThrough(through).build());
+            snapshotRepository.saveAllAndFlush(snapshots);
+            log.debug("Stock snapshot run {}: {} balances", run, snapshots.size());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance took the same run first; its rows already cover these movements
+            log.info("Stock snapshot run {} already taken", run);
+            throw e;
+        }
+        int pruned = snapshotRepository.deleteSupersededBefore(LocalDateTime.now().minus(snapshotRetention));
+        if (pruned > 0) {
+            log.debug("Pruned {} superseded stock snapshots", pruned);
+        }
+    }
+
+    private StockSnapshotRun latestRun() {
+        return runRepository.findFirstByOrderByIdDesc()
+            .orElseGet(() -> StockSnapshotRun.builder().id(0L).foldedThrough(LEDGER_START).build());
+    }
+
+    private Map<String, Long> latestQuantities(Set<UUID> lotIds, long watermark) {
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>(lotIds);
+        for (int from = 0; from < ids.size(); from += LOT_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + LOT_CHUNK_SIZE, ids.size()));
+            for (StockSnapshot snapshot : snapshotRepository.findLatestForLots(chunk, watermark)) {
+                quantities.put(key(snapshot.getLotId(), snapshot.getLocationId()), snapshot.getQuantity());
+            }
+        }
+        return quantities;
+    }
+
+    private static String key(UUID lotId, UUID locationId) {
+        return lotId + ":" + locationId;
+    }
+}
@@ -1,22 +1,22 @@
 package com.brisa.controleEstoque.service;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
 import com.brisa.controleEstoque.dto.requests.RequestTypeAttributeDTO;
 import com.brisa.controleEstoque.dto.responses.ResponseAttributeDTO;
 import com.brisa.controleEstoque.entity.Attribute;
 import com.brisa.controleEstoque.entity.TypeAttribute;
 import com.brisa.controleEstoque.entity.Type;
 import com.brisa.controleEstoque.entity.enums.AttributeDataType;
-import com.brisa.controleEstoque.event.TypeDeletedEvent;
 import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.TypeAttributeMapper;
 import com.brisa.controleEstoque.repository.AttributeRepository;
+import com.brisa.controleEstoque.repository.ItemRepository;
 import com.brisa.controleEstoque.repository.TypeAttributeRepository;
-import org.springframework.context.event.EventListener;
+import com.brisa.controleEstoque.schema.CompiledAttribute;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,31 +29,50 @@ public class TypeAttributeService {
     private final TypeService typeService;
     private final AttributeService attributeService;
     private final TypeAttributeMapper typeAttributeMapper;
+    private final TypeAttributeSchemaCache schemaCache;
+    private final UniqueAttributeService uniqueAttributeService;
+    private final SchemaChangeJobService schemaChangeJobService;
+    private final FacetService facetService;
+    private final ItemRepository itemRepository;
 
     public TypeAttributeService(
             TypeAttributeRepository typeAttributeRepository,
             AttributeRepository attributeRepository,
             TypeService typeService,
             AttributeService attributeService,
-            TypeAttributeMapper typeAttributeMapper) {
+            TypeAttributeMapper typeAttributeMapper,
+            TypeAttributeSchemaCache schemaCache,
+            UniqueAttributeService uniqueAttributeService,
+            SchemaChangeJobService schemaChangeJobService,
+            FacetService facetService,
+            ItemRepository itemRepository) {
         this.typeAttributeRepository = typeAttributeRepository;
         this.attributeRepository = attributeRepository;
         this.typeService = typeService;
         this.attributeService = attributeService;
+        this.schemaCache = schemaCache;
         this.typeAttributeMapper = typeAttributeMapper;
+        this.uniqueAttributeService = uniqueAttributeService;
+        this.schemaChangeJobService = schemaChangeJobService;
+        this.facetService = facetService;
+        this.itemRepository = itemRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<ResponseAttributeDTO> getAttributesForType(UUID typeId) {
         typeService.findById(typeId); // Validate type exists
-        return typeAttributeRepository.findAll().stream()
-                .filter(ta -> ta.getId().getTypeId().equals(typeId))
-                .map(ta -> {
-                    Attribute attribute = attributeService.findById(ta.getId().getAttributeId());
-                    return typeAttributeMapper.toDto(ta, attribute);
-                })
+        return typeAttributeRepository.findByTypeIdWithAttribute(typeId).stream()
+                .map(ta -> typeAttributeMapper.toDto(ta, ta.getAttribute()))
                 .collect(Collectors.toList());
     }
 
+    /** Validator of the type's attribute list; the type must exist. */
+    @Transactional(readOnly = true)
+    public ChangeStamp attributesChangeStamp(UUID typeId) {
+        typeService.findById(typeId);
+        return typeAttributeRepository.findChangeStamp(typeId);
+    }
+
     public ResponseAttributeDTO addAttributeToType(UUID typeId, RequestTypeAttributeDTO dto) {
         Type type = typeService.findById(typeId);
         dto.validate();
@@ -73,18 +92,31 @@ public class TypeAttributeService {
         }
 
         // Validate default value before creating the type attribute
-        validateDefaultValue(dto.getDefaultValue(), attribute.getDataType(), attribute.getOptions());
+        validateDefaultValue(dto.getDefaultValue(), attribute);
+        boolean unique = Boolean.TRUE.equals(dto.getIsUnique());
+        validateUnique(unique, dto.getDefaultValue(), attribute);
+        validateRequired(Boolean.TRUE.equals(dto.getIsRequired()), dto.getDefaultValue(), type.getId(), attribute);
 
         TypeAttribute typeAttribute = TypeAttribute.builder()
                 .id(id)
                 .type(type)
                 .attribute(attribute)
                 .isRequired(dto.getIsRequired())
-                .isUnique(dto.getIsUnique() != null ? dto.getIsUnique() : false)
+                .isUnique(unique)
                 .defaultValue(dto.getDefaultValue())
                 .build();
 
-        return typeAttributeRepository.save(typeAttribute);
+        schemaCache.evict(type.getId());
+        TypeAttribute saved = typeAttributeRepository.save(typeAttribute);
+        if (unique) {
+            // Items may still hold values from an earlier association
+            uniqueAttributeService.enable(CompiledAttribute.of(saved));
+        }
+        if (dto.getDefaultValue() != null && !dto.getDefaultValue().isBlank()) {
+            // Existing items get the default in the background, a chunk at a time
+            schemaChangeJobService.scheduleApplyDefault(type.getId(), attribute.getId(), dto.getDefaultValue());
+        }
+        return saved;
     }
 
     public ResponseAttributeDTO updateTypeAttributeSettings(UUID typeId, UUID attributeId,
@@ -96,6 +128,9 @@ public class TypeAttributeService {
         // Get the attribute to validate against its data type
         Attribute attribute = attributeService.findById(attributeId);
 
+        boolean wasUnique = Boolean.TRUE.equals(ta.getIsUnique());
+        boolean wasRequired = Boolean.TRUE.equals(ta.getIsRequired());
+        String previousDefault = ta.getDefaultValue();
         boolean changed = false;
         if (dto.getIsRequired() != null) {
             ta.setIsRequired(dto.getIsRequired());
@@ -108,12 +143,29 @@ public class TypeAttributeService {
         // Allow setting defaultValue to null by removing the null check
         // if (dto.getDefaultValue() != null) { 
             // Validate the new default value against the attribute's data type
-            validateDefaultValue(dto.getDefaultValue(), attribute.getDataType(), attribute.getOptions());
+            validateDefaultValue(dto.getDefaultValue(), attribute);
             ta.setDefaultValue(dto.getDefaultValue());
             changed = true;
         // }
+        boolean unique = Boolean.TRUE.equals(ta.getIsUnique());
+        validateUnique(unique, ta.getDefaultValue(), attribute);
+        if (!wasRequired || (previousDefault != null && !previousDefault.isBlank())) {
+            // Only a newly required attribute, or one losing its default, can leave items without a value
+            validateRequired(Boolean.TRUE.equals(ta.getIsRequired()), ta.getDefaultValue(), typeId, attribute);
+        }
 
+        schemaCache.evict(typeId);
         final TypeAttribute updatedTa = changed ? typeAttributeRepository.save(ta) : ta;
+        if (unique && !wasUnique) {
+            uniqueAttributeService.enable(CompiledAttribute.of(updatedTa));
+        } else if (!unique && wasUnique) {
+            uniqueAttributeService.disable(typeId, attributeId);
+        }
+        String defaultValue = updatedTa.getDefaultValue();
+        if (defaultValue != null && !defaultValue.isBlank() && !defaultValue.equals(previousDefault)) {
+            // Items still missing the attribute get the new default; existing values are kept
+            schemaChangeJobService.scheduleApplyDefault(typeId, attributeId, defaultValue);
+        }
         return typeAttributeMapper.toDto(updatedTa, attribute);
     }
 
@@ -122,44 +174,44 @@ public class TypeAttributeService {
         if (!typeAttributeRepository.existsById(id)) {
             throw new ResourceNotFoundException("Association not found for type and attribute.");
         }
-        typeAttributeRepository.deleteById(id);
+        schemaCache.evict(typeId);
+        // The values go with the link, unique keys included, so relinking starts from empty items
+        itemRepository.deleteAttributeValuesByTypeId(typeId, attributeId);
+        typeAttributeRepository.deleteByIdReturningCount(id);
+        facetService.removeAttribute(typeId, attributeId);
     }
 
-    @EventListener
-    public void handleTypeDeletedEvent(TypeDeletedEvent event) {
-        UUID typeId = event.getTypeId();
-        List<TypeAttribute> associations = typeAttributeRepository.findAll().stream()
-                .filter(ta -> ta.getId().getTypeId().equals(typeId))
-                .collect(Collectors.toList());
-        typeAttributeRepository.deleteAll(associations);
+    private void validateUnique(boolean unique, String defaultValue, Attribute attribute) {
+        if (!unique) {
+            return;
+        }
+        if (attribute.getDataType() == AttributeDataType.JSON) {
+            throw new ResourceBadRequestException("JSON attributes cannot be unique");
+        }
+        if (defaultValue != null && !defaultValue.isBlank()) {
+            throw new ResourceBadRequestException("A unique attribute cannot have a default value");
+        }
     }
 
-    private void validateDefaultValue(String defaultValue, AttributeDataType dataType, String options) {
-        // Skip validation if defaultValue is null or empty
-        if (defaultValue == null || defaultValue.trim().isEmpty()) {
+    // A required attribute without a default would leave the type's existing items invalid
+    private void validateRequired(boolean required, String defaultValue, UUID typeId, Attribute attribute) {
+        if (!required || (defaultValue != null && !defaultValue.isBlank())) {
             return;
         }
+        if (itemRepository.existsByTypeIdWithoutAttribute(typeId, attribute.getId())) {
+            throw new ResourceBadRequestException("Attribute '" + attribute.getName()
+                    + "' cannot be required without a default value: items of the type have no value for it");
+        }
+    }
 
-        try {
-            switch (dataType) {
-                case NUMBER:
-                    Double.parseDouble(defaultValue);
-                    break;
-                case BOOLEAN:
-                    Boolean.parseBoolean(defaultValue);
-                    break;
-                case DATE:
-                    LocalDate.parse(defaultValue);
-                    break;
-                case SELECT:
-                    if (options != null && !Arrays.asList(options.split(",")).contains(defaultValue)) {
-                        throw new ResourceBadRequestException("Default value must be one of the defined options");
-                    }
-                    break;
-                // STRING and JSON don't need validation
-            }
-        } catch (Exception e) {
-            throw new ResourceBadRequestException("Default value is not valid for data type: " + dataType);
+    private void validateDefaultValue(String defaultValue, Attribute attribute) {
+        String error = CompiledAttribute.of(attribute).check(defaultValue);
+        if (error == null) {
+            return;
+        }
+        if (attribute.getDataType() == AttributeDataType.SELECT) {
+            throw new ResourceBadRequestException("Default value must be one of the defined options");
         }
+        throw new ResourceBadRequestException("Default value is not valid for data type: " + attribute.getDataType());
     }
-}
\ No newline at end of file
+}
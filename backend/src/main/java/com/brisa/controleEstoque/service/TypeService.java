@@ -1,53 +1,115 @@
 package com.brisa.controleEstoque.service;
 
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.Constraints;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.common.CursorPage;
+import com.brisa.controleEstoque.common.KeysetPaginator;
+import com.brisa.controleEstoque.common.MergePatch;
 import com.brisa.controleEstoque.dto.requests.RequestTypeDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseDeletedTypeDTO;
+import com.brisa.controleEstoque.dto.responses.ResponseTypeDTO;
 import com.brisa.controleEstoque.entity.Type;
-import com.brisa.controleEstoque.event.TypeDeletedEvent;
+import com.brisa.controleEstoque.exceptions.PreconditionFailedException;
 import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
 import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
 import com.brisa.controleEstoque.mapper.TypeMapper;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
+import com.brisa.controleEstoque.repository.ProductRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
 import com.brisa.controleEstoque.repository.TypeRepository;
 import com.brisa.controleEstoque.repository.TypeAttributeRepository;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
 import com.brisa.controleEstoque.repository.specification.TypeSpecification;
-import org.springframework.context.ApplicationEventPublisher;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Slf4j
 public class TypeService {
+    public static final Map<String, Class<?>> CURSOR_SORT_FIELDS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "name", String.class);
+    private static final Set<String> PATCHABLE = Set.of("name", "description");
+
     private final TypeRepository typeRepository;
     private final TypeMapper typeMapper;
     private final TypeSpecification typeSpecification;
     private final TypeAttributeRepository typeAttributeRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final ProductRepository productRepository;
+    private final TypeAttributeSchemaCache schemaCache;
+    private final TupleProjectionRepository projectionRepository;
+    private final PageTotals pageTotals;
+    private final PatchRepository patchRepository;
+    private final MergePatch mergePatch;
 
     public TypeService(
             TypeRepository typeRepository, 
             TypeMapper typeMapper,
             TypeAttributeRepository typeAttributeRepository,
-            ApplicationEventPublisher eventPublisher) {
+            ProductRepository productRepository,
+            TypeAttributeSchemaCache schemaCache,
+            TupleProjectionRepository projectionRepository,
+            PageTotals pageTotals,
+            PatchRepository patchRepository,
+            MergePatch mergePatch,
+            TextSearch textSearch) {
         this.typeRepository = typeRepository;
         this.typeMapper = typeMapper;
-        this.typeSpecification = new TypeSpecification();
+        this.typeSpecification = new TypeSpecification(textSearch);
         this.typeAttributeRepository = typeAttributeRepository;
-        this.eventPublisher = eventPublisher;
+        this.productRepository = productRepository;
+        this.schemaCache = schemaCache;
+        this.projectionRepository = projectionRepository;
+        this.pageTotals = pageTotals;
+        this.patchRepository = patchRepository;
+        this.mergePatch = mergePatch;
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ResponseTypeDTO> findAll(String search, Pageable pageable, CountMode count) {
+        return projectionRepository.find(Type.class, filter(search), PageTotals.filterKey(search),
+                TypeMapper::listColumns, pageable, count)
+                .map(typeMapper::fromRow);
+    }
+
+    /** Validator of the list with the same filters as {@link #findAll}. */
+    @Transactional(readOnly = true)
+    public ChangeStamp changeStamp(String search) {
+        return projectionRepository.stamp(Type.class, filter(search));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Type> findAllByCursor(String search, String cursor, String sort,
+            Sort.Direction direction, int size) {
+        return KeysetPaginator.fetch(typeRepository, filter(search), cursor, sort, direction, size,
+                CURSOR_SORT_FIELDS);
     }
 
-    public Page<Type> findAll(String search, Pageable pageable) {
+    public Specification<Type> filter(String search) {
         Specification<Type> spec = Specification.where(null);
         if (search != null && !search.trim().isEmpty()) {
             spec = spec.and(typeSpecification.search(search));
         }
-        return typeRepository.findAll(spec, pageable);
+        return spec;
     }
 
+    @Transactional(readOnly = true)
     public Type findById(UUID id) {
         return typeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Type not found with id: " + id));
@@ -56,6 +118,7 @@ public class TypeService {
     public Type create(RequestTypeDTO dto) {
         try {
             Type type = typeMapper.toEntity(dto);
+            pageTotals.evict(Type.class);
             return typeRepository.save(type);
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage().contains("unique constraint")) {
@@ -72,6 +135,7 @@ public class TypeService {
         Type existing = findById(id);
         try {
             typeMapper.updateEntityFromDto(dto, existing);
+            pageTotals.evict(Type.class);
             return typeRepository.save(existing);
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage().contains("unique constraint")) {
@@ -81,18 +145,68 @@ public class TypeService {
         }
     }
 
-    public void delete(UUID id) {
-        if (!typeRepository.existsById(id)) {
+    /**
+     * Applies a JSON Merge Patch as one UPDATE of the patched columns.
+     *
+     * @param expectedVersion version required by If-Match, or null for none
+     */
+    public Type patch(UUID id, JsonNode body, Long expectedVersion) {
+        MergePatch.Fields<RequestTypeDTO> patch = mergePatch.read(body, RequestTypeDTO.class, PATCHABLE,
+                Set.of("name"));
+        RequestTypeDTO dto = patch.values();
+        Map<String, Object> values = new HashMap<>();
+        if (patch.has("name")) {
+            values.put("name", dto.getName());
+        }
+        if (patch.has("description")) {
+            values.put("description", dto.getDescription());
+        }
+
+        int updated;
+        try {
+            updated = patchRepository.update(Type.class, id, expectedVersion, values);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage().contains("unique constraint")) {
+                throw new ResourceBadRequestException("Type name has to be unique.");
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (!typeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Type not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Type " + id + " is no longer at version " + expectedVersion);
+        }
+        pageTotals.evict(Type.class);
+        return findById(id);
+    }
+
+    public ResponseDeletedTypeDTO delete(UUID id) {
+        if (productRepository.existsByTypeId(id)) {
+            throw stillReferenced();
+        }
+        // Set-based cascade: one statement per dependent table
+        int associations = typeAttributeRepository.deleteByTypeId(id);
+        schemaCache.evict(id);
+        pageTotals.evict(Type.class);
+        int types;
+        try {
+            types = typeRepository.deleteByIdReturningCount(id);
+        } catch (DataIntegrityViolationException e) {
+            // A product created after the check above
+            if (Constraints.isForeignKeyViolation(e)) {
+                throw stillReferenced();
+            }
+            throw e;
+        }
+        if (types == 0) {
             throw new ResourceNotFoundException("Type not found with id: " + id);
         }
-        // Publish event before deleting the type
-        eventPublisher.publishEvent(new TypeDeletedEvent(id));
-        // Delete all associated type attributes first
-        typeAttributeRepository.deleteAll(
-            typeAttributeRepository.findAll().stream()
-                .filter(ta -> ta.getId().getTypeId().equals(id))
-                .collect(Collectors.toList())
-        );
-        typeRepository.deleteById(id);
+        log.info("Deleted type {} ({} type_attribute rows)", id, associations);
+        return new ResponseDeletedTypeDTO(id, types, associations);
+    }
+
+    private static ResourceBadRequestException stillReferenced() {
+        return new ResourceBadRequestException("Cannot delete type: it is still referenced by one or more products.");
     }
-}
\ No newline at end of file
+}
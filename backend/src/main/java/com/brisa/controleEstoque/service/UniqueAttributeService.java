@@ -0,0 +1,172 @@
+package com.brisa.controleEstoque.service;
+
+import com.brisa.controleEstoque.dto.responses.ResponseDuplicateValueDTO;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.schema.CompiledAttribute;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code item_attribute.unique_scope}/{@code value_key} in line with
+ * {@code TypeAttribute.isUnique}. The unique constraint on those columns does
+ * the enforcement on every write, batched inserts included; this service only
+ * verifies and backfills existing rows when the flag is switched on and clears
+ * them when it is switched off.
+ */
+@Service
+@Transactional
+public class UniqueAttributeService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_DUPLICATES = 1000;
+
+    private static final String ROWS_OF_TYPE =
+            "FROM item_attribute ia "
+            + "JOIN item i ON i.id = ia.item_id "
+            + "JOIN product p ON p.id = i.product_id "
+            + "WHERE p.type_id = ? AND ia.attribute_id = ? ";
+
+    private static final String UNIQUE_ROWS_OF_PRODUCT =
+            "FROM item_attribute ia "
+            + "JOIN item i ON i.id = ia.item_id "
+            + "JOIN type_attribute ta ON ta.attribute_id = ia.attribute_id AND ta.type_id = ? AND ta.is_unique = TRUE "
+            + "WHERE i.product_id = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UniqueAttributeService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Values of the attribute held by more than one item of the type. Typed
+     * columns are grouped natively, so 1 and 1.0 count as the same number.
+     */
+    @Transactional(readOnly = true)
+    public List<ResponseDuplicateValueDTO> findDuplicates(UUID typeId, UUID attributeId) {
+        return jdbcTemplate.query(
+                "SELECT ia.value_text, ia.value_number, ia.value_date, ia.value_boolean, COUNT(*) "
+                + ROWS_OF_TYPE
+                + "GROUP BY ia.value_text, ia.value_number, ia.value_date, ia.value_boolean "
+                + "HAVING COUNT(*) > 1 "
+                + "ORDER BY COUNT(*) DESC "
+                + "LIMIT " + MAX_DUPLICATES,
+                (rs, rowNum) -> new ResponseDuplicateValueDTO(
+                        CompiledAttribute.uniqueKey(typedValue(rs.getString(1), rs.getObject(2),
+                                rs.getObject(3, LocalDate.class), rs.getObject(4))),
+                        rs.getLong(5)),
+                typeId, attributeId);
+    }
+
+    /**
+     * Verifies that no two items of the type share a value, then writes the
+     * scope and canonical key of every existing value in batches. Duplicates
+     * are reported instead of enabling the flag.
+     */
+    public void enable(CompiledAttribute attribute) {
+        UUID typeId = attribute.getTypeId();
+        List<ResponseDuplicateValueDTO> duplicates = findDuplicates(typeId, attribute.getAttributeId());
+        if (!duplicates.isEmpty()) {
+            throw duplicatesFound(attribute, duplicates);
+        }
+
+        try {
+            scope(typeId, ROWS_OF_TYPE, typeId, attribute.getAttributeId());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent write introduced a duplicate after the check; the transaction is lost
+            throw new ResourceBadRequestException("Attribute '" + attribute.getName()
+                    + "' cannot be made unique, a duplicate value was written meanwhile. Check the duplicates and retry.");
+        }
+    }
+
+    /**
+     * A product changed type: its items' values leave the old type's scope and
+     * join the new type's for every attribute that is unique there. A value
+     * already held by an item of the new type rejects the change.
+     */
+    public void moveProduct(UUID productId, UUID fromTypeId, UUID toTypeId) {
+        jdbcTemplate.update(
+                "UPDATE item_attribute SET unique_scope = NULL, value_key = NULL "
+                + "WHERE unique_scope = ? AND item_id IN (SELECT i.id FROM item i WHERE i.product_id = ?)",
+                fromTypeId, productId);
+        try {
+            scope(toTypeId, UNIQUE_ROWS_OF_PRODUCT, toTypeId, productId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceBadRequestException("Cannot change the product's type: its items hold values of "
+                    + "unique attributes that items of type " + toTypeId + " already use");
+        }
+    }
+
+    public void disable(UUID typeId, UUID attributeId) {
+        jdbcTemplate.update(
+                "UPDATE item_attribute SET unique_scope = NULL, value_key = NULL "
+                + "WHERE unique_scope = ? AND attribute_id = ?",
+                typeId, attributeId);
+    }
+
+    /** Whether the exception is the unique-value constraint rejecting a write. */
+    public static boolean isDuplicateValue(DataIntegrityViolationException e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase().contains(ItemAttribute.UNIQUE_VALUE_CONSTRAINT);
+    }
+
+    // Writes the scope and canonical key of every row the query selects, in batches
+    private void scope(UUID typeId, String rows, Object... args) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT ia.id, ia.value_text, ia.value_number, ia.value_date, ia.value_boolean " + rows);
+            statement.setFetchSize(BATCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, rs -> {
+            String key = CompiledAttribute.uniqueKey(typedValue(rs.getString(2), rs.getObject(3),
+                    rs.getObject(4, LocalDate.class), rs.getObject(5)));
+            batch.add(new Object[] { typeId, key, rs.getObject(1, UUID.class) });
+            if (batch.size() == BATCH_SIZE) {
+                writeKeys(batch);
+            }
+        });
+        writeKeys(batch);
+    }
+
+    private void writeKeys(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE item_attribute SET unique_scope = ?, value_key = ? WHERE id = ?", batch);
+        batch.clear();
+    }
+
+    private static Object typedValue(String text, Object number, Object date, Object bool) {
+        if (number != null) {
+            return ((Number) number).doubleValue();
+        }
+        if (date != null) {
+            return date;
+        }
+        return bool != null ? bool : text;
+    }
+
+    private static ResourceBadRequestException duplicatesFound(CompiledAttribute attribute,
+            List<ResponseDuplicateValueDTO> duplicates) {
+        String sample = duplicates.stream()
+                .limit(10)
+                .map(duplicate -> duplicate.getValue() + " (" + duplicate.getCount() + ")")
+                .collect(Collectors.joining(", "));
+        return new ResourceBadRequestException("Attribute '" + attribute.getName()
+                + "' cannot be made unique, " + duplicates.size() + " value(s) are shared by several items: " + sample);
+    }
+}
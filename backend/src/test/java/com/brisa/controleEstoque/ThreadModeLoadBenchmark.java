@@ -0,0 +1,133 @@
+package com.brisa.controleEstoque;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.support.Bench;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Closed-loop load against a running instance, for comparing Tomcat's
+ * platform-thread pool with the virtual-thread mode. Start the application
+ * once per mode against the same database and run the benchmark with a
+ * matching label:
+ * <pre>
+ * VIRTUAL_THREADS=false java -jar target/controle-estoque-*.jar
+ * mvn test -Dtest=ThreadModeLoadBenchmark -Dbench.label=platform -Dbench.email=... -Dbench.password=...
+ *
+ * VIRTUAL_THREADS=true java -jar target/controle-estoque-*.jar
+ * mvn test -Dtest=ThreadModeLoadBenchmark -Dbench.label=virtual -Dbench.email=... -Dbench.password=...
+ * </pre>
+ * {@code -Dbench.concurrency} clients (default 1000, well past Tomcat's 200
+ * threads) repeat {@code -Dbench.path}, a search by default, for
+ * {@code -Dbench.duration} after a warm-up. The run prints throughput, p50,
+ * p99 and the count of non-200 responses. Skipped when nothing answers at
+ * {@code -Dbench.target}.
+ */
+class ThreadModeLoadBenchmark {
+
+    private final String target = System.getProperty("bench.target", "http://localhost:8080");
+    private final String path = System.getProperty("bench.path", "/api/products?search=ca&size=20");
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void throughputAndTailLatency() throws Exception {
+        String token = token();
+        int concurrency = Bench.intProperty("bench.concurrency", 1000);
+        Duration warmup = Duration.parse(System.getProperty("bench.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("bench.duration", "PT60S"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        run(request, concurrency, warmup);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long[] samples = run(request, concurrency, duration, errors);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        String label = System.getProperty("bench.label", "run");
+        Bench.Result result = Bench.summarize(label, samples);
+        System.out.printf("%s, %d clients: %,.0f requests/s, p50 %.1f ms, p99 %.1f ms, %d non-200 responses%n",
+                label, concurrency, samples.length / seconds, result.p50Nanos() / 1e6, result.p99Nanos() / 1e6,
+                errors.get());
+    }
+
+    private long[] run(HttpRequest request, int concurrency, Duration duration) throws Exception {
+        return run(request, concurrency, duration, new AtomicLong());
+    }
+
+    private long[] run(HttpRequest request, int concurrency, Duration duration, AtomicLong errors) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    LongStream.Builder latencies = LongStream.builder();
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return latencies.build().toArray();
+                }));
+            }
+        }
+        List<long[]> perClient = new ArrayList<>(concurrency);
+        for (Future<long[]> result : clients) {
+            perClient.add(result.get());
+        }
+        return perClient.stream().flatMapToLong(LongStream::of).toArray();
+    }
+
+    private String token() throws Exception {
+        String token = System.getProperty("bench.token");
+        if (token != null) {
+            return token;
+        }
+        String body = new ObjectMapper().writeValueAsString(Map.of(
+                "email", System.getProperty("bench.email", "admin@example.com"),
+                "password", System.getProperty("bench.password", "admin")));
+        HttpResponse<String> response;
+        try {
+            response = client.send(HttpRequest.newBuilder(URI.create(target + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            assumeTrue(false, "No application answering at " + target + ": " + e.getMessage());
+            throw e;
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return new ObjectMapper().readTree(response.body()).path("token").asText();
+    }
+}
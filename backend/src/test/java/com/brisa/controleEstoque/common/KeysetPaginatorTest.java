@@ -0,0 +1,99 @@
+package com.brisa.controleEstoque.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.repository.LocationRepository;
+import com.brisa.controleEstoque.service.LocationService;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+
+@JpaStatementTest
+class KeysetPaginatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private LocationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("A", "B", "C", "D", "E")) {
+            entityManager.persist(Location.builder().name(name).isActive(true).build());
+        }
+        entityManager.flush();
+        // Rows written before the column was populated
+        entityManager.getEntityManager()
+                .createNativeQuery("update location set created_at = null where name in ('B', 'D')")
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagingAscendingWalksPastTheNullsOnce() {
+        List<Location> seen = walk(Sort.Direction.ASC);
+
+        assertThat(seen).extracting(Location::getName).hasSize(5).doesNotHaveDuplicates();
+        assertThat(seen.subList(3, 5)).allSatisfy(location -> assertThat(location.getCreatedAt()).isNull());
+    }
+
+    @Test
+    void pagingDescendingStartsWithTheNulls() {
+        List<Location> seen = walk(Sort.Direction.DESC);
+
+        assertThat(seen).extracting(Location::getName).hasSize(5).doesNotHaveDuplicates();
+        assertThat(seen.subList(0, 2)).allSatisfy(location -> assertThat(location.getCreatedAt()).isNull());
+    }
+
+    @Test
+    void aNullSortValueRoundTrips() {
+        UUID id = UUID.randomUUID();
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor("createdAt", Sort.Direction.ASC, id, null).encode());
+
+        assertThat(cursor.getLastId()).isEqualTo(id);
+        assertThat(cursor.lastValueAs(LocalDateTime.class)).isNull();
+    }
+
+    @Test
+    void handEditedTokensAreBadRequests() {
+        String id = UUID.randomUUID().toString();
+        for (String raw : List.of("createdAt\nASC\n" + id + "\nnull", "createdAt\nASC\n" + id + "\nVnull",
+                "createdAt\nUP\n" + id + "\nN", "createdAt\nASC\nnot-a-uuid\nN", "createdAt\nASC")) {
+            String token = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThatThrownBy(() -> fetch(token, Sort.Direction.ASC))
+                    .isInstanceOf(ResourceBadRequestException.class)
+                    .hasMessage("Malformed pagination cursor");
+        }
+        assertThatThrownBy(() -> fetch("%%%", Sort.Direction.ASC)).isInstanceOf(ResourceBadRequestException.class);
+    }
+
+    private List<Location> walk(Sort.Direction direction) {
+        List<Location> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Location> page = fetch(cursor, direction);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private CursorPage<Location> fetch(String cursor, Sort.Direction direction) {
+        return KeysetPaginator.fetch(repository, null, cursor, "createdAt", direction, 2,
+                LocationService.CURSOR_SORT_FIELDS);
+    }
+}
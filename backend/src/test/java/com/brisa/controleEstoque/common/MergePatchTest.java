@@ -0,0 +1,107 @@
+package com.brisa.controleEstoque.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
+import com.brisa.controleEstoque.dto.requests.RequestProductDTO;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class MergePatchTest {
+
+    private static final Set<String> LOT_PATCHABLE = Set.of("lotNumber", "productId", "manufacturingDate",
+            "expirationDate");
+    private static final Set<String> LOT_REQUIRED = Set.of("lotNumber", "productId");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private static ValidatorFactory validatorFactory;
+    private static MergePatch mergePatch;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        mergePatch = new MergePatch(objectMapper, validatorFactory.getValidator());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void readsOnlyTheMembersPresent() throws Exception {
+        MergePatch.Fields<RequestLotDTO> patch = readLot("{\"manufacturingDate\": \"2024-01-02T03:04:05\"}");
+
+        assertThat(patch.names()).containsExactly("manufacturingDate");
+        assertThat(patch.values().getManufacturingDate()).isEqualTo(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        // Absent required members are not validated
+        assertThat(patch.has("lotNumber")).isFalse();
+    }
+
+    @Test
+    void nullClearsAnOptionalField() throws Exception {
+        MergePatch.Fields<RequestProductDTO> patch = mergePatch.read(json("{\"description\": null}"),
+                RequestProductDTO.class, Set.of("name", "typeId", "description"), Set.of("name", "typeId"));
+
+        assertThat(patch.has("description")).isTrue();
+        assertThat(patch.values().getDescription()).isNull();
+    }
+
+    @Test
+    void rejectsNullForARequiredField() {
+        assertThatThrownBy(() -> readLot("{\"productId\": null}"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("productId");
+    }
+
+    @Test
+    void rejectsAFieldThatCannotBePatched() {
+        assertThatThrownBy(() -> readLot("{\"id\": \"0190a0a0-0000-7000-8000-000000000000\"}"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("cannot be patched");
+    }
+
+    @Test
+    void appliesTheDefaultConstraintsOfPresentMembers() {
+        assertThatThrownBy(() -> readLot("{\"lotNumber\": \"  \"}"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("Lot number is required");
+        assertThatThrownBy(() -> readLot("{\"lotNumber\": \"" + "L".repeat(51) + "\"}"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("Lot number cannot exceed 50 characters");
+    }
+
+    @Test
+    void rejectsValuesOfTheWrongType() {
+        assertThatThrownBy(() -> readLot("{\"productId\": \"not-a-uuid\"}"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageStartingWith("Invalid merge patch");
+    }
+
+    @Test
+    void rejectsABodyThatIsNotAnObject() {
+        assertThatThrownBy(() -> readLot("[]"))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessage("A merge patch must be a JSON object");
+    }
+
+    private static MergePatch.Fields<RequestLotDTO> readLot(String body) throws Exception {
+        return mergePatch.read(json(body), RequestLotDTO.class, LOT_PATCHABLE, LOT_REQUIRED);
+    }
+
+    private static JsonNode json(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,97 @@
+package com.brisa.controleEstoque.common;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.support.Bench;
+import com.brisa.controleEstoque.support.PostgresBench;
+
+/**
+ * Insert throughput on PostgreSQL with random v4 against time-ordered
+ * {@link UuidV7} primary keys. Each generator fills its own table in
+ * batches; throughput is printed per tenth of the run, so the decline as
+ * the primary key index outgrows memory shows, followed by the batch
+ * latency percentiles and the final index size. The scratch schema is
+ * dropped afterwards.
+ * <pre>mvn test -Dtest=UuidInsertBenchmark -Dbench.rows=10000000</pre>
+ */
+class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void insertThroughputV4AgainstV7() throws Exception {
+        long rows = Bench.sizes("bench.rows", "10000000").get(0);
+        try (Connection connection = PostgresBench.connect()) {
+            execute(connection, "DROP SCHEMA IF EXISTS bench_uuid CASCADE");
+            execute(connection, "CREATE SCHEMA bench_uuid");
+            try {
+                fill(connection, "v4", UUID::randomUUID, rows);
+                fill(connection, "v7", UuidV7::randomUuid, rows);
+            } finally {
+                if (!Boolean.getBoolean("bench.keep")) {
+                    execute(connection, "DROP SCHEMA IF EXISTS bench_uuid CASCADE");
+                }
+            }
+        }
+    }
+
+    private static void fill(Connection connection, String name, Supplier<UUID> ids, long rows) throws SQLException {
+        String table = "bench_uuid." + name;
+        execute(connection, "CREATE TABLE " + table
+                + " (id uuid PRIMARY KEY, payload text NOT NULL, created_at timestamp NOT NULL DEFAULT now())");
+        connection.setAutoCommit(false);
+        long[] batches = new long[(int) ((rows + BATCH_SIZE - 1) / BATCH_SIZE)];
+        long segment = Math.max(1, rows / 10);
+        long segmentStart = System.nanoTime();
+        long start = segmentStart;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            long inserted = 0;
+            int batch = 0;
+            while (inserted < rows) {
+                long batchStart = System.nanoTime();
+                int size = (int) Math.min(BATCH_SIZE, rows - inserted);
+                for (int i = 0; i < size; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "lot " + (inserted + i));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                batches[batch++] = System.nanoTime() - batchStart;
+                long before = inserted;
+                inserted += size;
+                if (inserted / segment != before / segment) {
+                    long now = System.nanoTime();
+                    System.out.printf("%s: %,d rows, %,.0f rows/s over the last %,d%n", name, inserted,
+                            segment * 1e9 / (now - segmentStart), segment);
+                    segmentStart = now;
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        System.out.printf("%s: %,.0f rows/s overall%n", name, rows * 1e9 / (System.nanoTime() - start));
+        System.out.println(Bench.summarize(name + " batch of " + BATCH_SIZE, batches));
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey')), "
+                        + "pg_size_pretty(pg_relation_size('" + table + "'))")) {
+            rs.next();
+            System.out.printf("%s: primary key index %s, table %s%n", name, rs.getString(1), rs.getString(2));
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.brisa.controleEstoque.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.brisa.controleEstoque.common.ChangeStamp;
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.mapper.LocationMapper;
+import com.brisa.controleEstoque.service.LocationService;
+
+class LocationControllerTest {
+
+    private LocationService locationService;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        locationService = mock(LocationService.class);
+        mvc = MockMvcBuilders.standaloneSetup(new LocationController(locationService, mock(LocationMapper.class)))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+        when(locationService.findAll(isNull(), any(Pageable.class), any(CountMode.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+    }
+
+    @Test
+    void listCarriesValidatorsOnTheFirstResponse() throws Exception {
+        when(locationService.changeStamp(null)).thenReturn(new ChangeStamp(3, LocalDateTime.of(2024, 1, 2, 3, 4, 5)));
+
+        mvc.perform(get("/api/locations"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void resendingTheReturnedTagIsNotModified() throws Exception {
+        when(locationService.changeStamp(null)).thenReturn(new ChangeStamp(3, LocalDateTime.of(2024, 1, 2, 3, 4, 5)));
+        String etag = mvc.perform(get("/api/locations"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/locations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        // Only the first request read the page
+        verify(locationService, times(1)).findAll(isNull(), any(Pageable.class), any(CountMode.class));
+    }
+
+    @Test
+    void aDeleteInvalidatesTheTag() throws Exception {
+        LocalDateTime latest = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        when(locationService.changeStamp(null)).thenReturn(new ChangeStamp(3, latest));
+        String etag = mvc.perform(get("/api/locations"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(locationService.changeStamp(null)).thenReturn(new ChangeStamp(2, latest));
+
+        String current = mvc.perform(get("/api/locations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(current).isNotEqualTo(etag);
+    }
+}
@@ -0,0 +1,103 @@
+package com.brisa.controleEstoque.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import com.brisa.controleEstoque.support.JpaStatementTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@JpaStatementTest
+class ReplicaAwareJpaDialectTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private final ReplicaAwareJpaDialect dialect = new ReplicaAwareJpaDialect(replicaUsable::get);
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = entityManagerFactory.createEntityManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+    }
+
+    @Test
+    void aReplicaTransactionOnlyReadsTheCaches() throws Exception {
+        Object transaction = dialect.beginTransaction(entityManager, definition(true));
+
+        assertThat(session().getCacheMode()).isEqualTo(CacheMode.GET);
+        assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isTrue();
+
+        end(transaction);
+        assertThat(session().getCacheMode()).isEqualTo(CacheMode.NORMAL);
+        assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isFalse();
+    }
+
+    @Test
+    void readWriteTransactionsFillTheCaches() throws Exception {
+        Object transaction = dialect.beginTransaction(entityManager, definition(false));
+
+        assertThat(session().getCacheMode()).isEqualTo(CacheMode.NORMAL);
+        assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isFalse();
+        end(transaction);
+    }
+
+    @Test
+    void aReadOnlyTransactionBegunWhileTheReplicaLagsStaysOnThePrimary() throws Exception {
+        replicaUsable.set(false);
+        Object transaction = dialect.beginTransaction(entityManager, definition(true));
+        replicaUsable.set(true);
+
+        assertThat(session().getCacheMode()).isEqualTo(CacheMode.NORMAL);
+        assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isFalse();
+        end(transaction);
+    }
+
+    @Test
+    void anInnerTransactionHandsTheOuterMarkBack() throws Exception {
+        Object outer = dialect.beginTransaction(entityManager, definition(true));
+        EntityManager inner = entityManagerFactory.createEntityManager();
+        try {
+            Object transaction = dialect.beginTransaction(inner, definition(false));
+            assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isFalse();
+            inner.getTransaction().rollback();
+            dialect.cleanupTransaction(transaction);
+        } finally {
+            inner.close();
+        }
+
+        assertThat(ReplicaAwareJpaDialect.isReplicaTransaction()).isTrue();
+        end(outer);
+    }
+
+    private void end(Object transaction) {
+        entityManager.getTransaction().rollback();
+        dialect.cleanupTransaction(transaction);
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    private static DefaultTransactionDefinition definition(boolean readOnly) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(readOnly);
+        return definition;
+    }
+}
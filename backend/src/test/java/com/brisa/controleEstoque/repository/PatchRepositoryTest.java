@@ -0,0 +1,77 @@
+package com.brisa.controleEstoque.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.StatementCounter;
+
+import jakarta.persistence.EntityManager;
+
+@JpaStatementTest
+@Import(PatchRepository.class)
+class PatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PatchRepository repository;
+
+    private StatementCounter statements;
+    private Type type;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManager.getEntityManager());
+        type = entityManager.persist(Type.builder().name("Notebook").build());
+        product = entityManager.persistAndFlush(Product.builder().name("X1").type(type).build());
+    }
+
+    @Test
+    void patchIsOneUpdateThatBumpsTheVersion() {
+        long version = product.getVersion();
+        int[] updated = new int[1];
+
+        long count = statements.count(() -> updated[0] = repository.update(Product.class, product.getId(), version,
+                Map.of("name", "X1 Carbon")));
+
+        assertThat(count).isEqualTo(1);
+        assertThat(updated[0]).isEqualTo(1);
+        Product patched = entityManager.find(Product.class, product.getId());
+        assertThat(patched.getName()).isEqualTo("X1 Carbon");
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void aStaleVersionMatchesNothing() {
+        int updated = repository.update(Product.class, product.getId(), product.getVersion() + 1,
+                Map.of("name", "X1 Carbon"));
+
+        assertThat(updated).isZero();
+        assertThat(entityManager.find(Product.class, product.getId()).getName()).isEqualTo("X1");
+    }
+
+    @Test
+    void onlyThePatchedRowLeavesThePersistenceContext() {
+        EntityManager em = entityManager.getEntityManager();
+        Product managed = em.find(Product.class, product.getId());
+        Type managedType = em.find(Type.class, type.getId());
+
+        repository.update(Product.class, product.getId(), null, Map.of("name", "X1 Carbon"));
+
+        assertThat(em.contains(managed)).isFalse();
+        assertThat(em.contains(managedType)).isTrue();
+        assertThat(em.find(Product.class, product.getId()).getName()).isEqualTo("X1 Carbon");
+    }
+}
@@ -0,0 +1,97 @@
+package com.brisa.controleEstoque.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.brisa.controleEstoque.common.CountMode;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.SimpleMetrics;
+import com.brisa.controleEstoque.support.StatementCounter;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+@JpaStatementTest
+@Import({ TupleProjectionRepository.class, PageTotals.class, SimpleMetrics.class })
+class TupleProjectionRepositoryTest {
+
+    private static final Function<Root<Product>, List<Selection<?>>> COLUMNS = root -> List.of(
+            root.get("id").alias("id"),
+            root.get("name").alias("name"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TupleProjectionRepository repository;
+
+    @Autowired
+    private PageTotals pageTotals;
+
+    private StatementCounter statements;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManager.getEntityManager());
+        // Counts cached by an earlier test of the shared context would hide the count statement
+        pageTotals.evict(Product.class);
+        Type type = entityManager.persist(Type.builder().name("Notebook").build());
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Product.builder().name("product-" + i).type(type).build());
+        }
+    }
+
+    @Test
+    void findWithoutCountReadsOnePageInOneStatement() {
+        AtomicReference<Slice<Tuple>> page = new AtomicReference<>();
+        long count = statements.count(() -> page.set(
+                find(PageRequest.of(0, 2, Sort.by("name")), CountMode.NONE)));
+
+        assertThat(count).isEqualTo(1);
+        assertThat(page.get()).isNotInstanceOf(Page.class);
+        assertThat(page.get().hasNext()).isTrue();
+        assertThat(page.get().getContent()).extracting(row -> row.get("name", String.class))
+                .containsExactly("product-0", "product-1");
+    }
+
+    @Test
+    void findWithExactCountCountsOncePerFilter() {
+        AtomicReference<Slice<Tuple>> page = new AtomicReference<>();
+        long first = statements.count(() -> page.set(
+                find(PageRequest.of(0, 2, Sort.by("name")), CountMode.EXACT)));
+        long second = statements.count(() -> find(PageRequest.of(1, 2, Sort.by("name")), CountMode.EXACT));
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(((Page<Tuple>) page.get()).getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void findSkipsTheCountOnTheLastPage() {
+        AtomicReference<Slice<Tuple>> page = new AtomicReference<>();
+        long count = statements.count(() -> page.set(find(PageRequest.of(0, 10), CountMode.EXACT)));
+
+        assertThat(count).isEqualTo(1);
+        assertThat(((Page<Tuple>) page.get()).getTotalElements()).isEqualTo(5);
+    }
+
+    private Slice<Tuple> find(PageRequest pageable, CountMode mode) {
+        return repository.find(Product.class, null, PageTotals.filterKey((Object) null), COLUMNS, pageable, mode);
+    }
+}
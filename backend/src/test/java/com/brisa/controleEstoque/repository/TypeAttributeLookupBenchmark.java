@@ -0,0 +1,115 @@
+package com.brisa.controleEstoque.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.support.Bench;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.StatementCounter;
+
+/**
+ * Cost of loading one type's attributes as the type_attribute table grows,
+ * for the join-fetch lookup and for the scan-and-filter path it replaced.
+ * Every type links {@value #ATTRIBUTES_PER_TYPE} attributes. Runs on H2:
+ * <pre>mvn test -Dtest=TypeAttributeLookupBenchmark -Dbench.rows=1000,10000,100000</pre>
+ */
+@JpaStatementTest
+class TypeAttributeLookupBenchmark {
+
+    private static final int ATTRIBUTES_PER_TYPE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TypeAttributeRepository typeAttributeRepository;
+    @Autowired
+    private AttributeRepository attributeRepository;
+
+    private final List<Attribute> attributes = new ArrayList<>();
+    private int types;
+
+    @Test
+    void lookupCostAgainstTableSize() throws Exception {
+        int iterations = Bench.intProperty("bench.iterations", 200);
+        for (long rows : Bench.sizes("bench.rows", "1000,10000,100000")) {
+            growTo(rows);
+            UUID typeId = probeType();
+            StatementCounter statements = new StatementCounter(entityManager.getEntityManager());
+
+            long joinFetchStatements = statements.count(() -> joinFetch(typeId));
+            Bench.measure("join fetch, " + rows + " rows", iterations / 10, iterations, () -> {
+                entityManager.clear();
+                return joinFetch(typeId);
+            });
+
+            long scanStatements = statements.count(() -> scanAndFilter(typeId));
+            Bench.measure("scan and filter, " + rows + " rows", 1, Math.max(1, iterations / 20), () -> {
+                entityManager.clear();
+                return scanAndFilter(typeId);
+            });
+            System.out.printf("statements per lookup at %d rows: join fetch %d, scan and filter %d%n", rows,
+                    joinFetchStatements, scanStatements);
+
+            // The join fetch stays one statement however many rows the table holds
+            assertThat(joinFetchStatements).isEqualTo(1);
+        }
+    }
+
+    private List<String> joinFetch(UUID typeId) {
+        return typeAttributeRepository.findByTypeIdWithAttribute(typeId).stream()
+                .map(typeAttribute -> typeAttribute.getAttribute().getName())
+                .toList();
+    }
+
+    // The lookup before the join fetch: every association, filtered in Java, one query per attribute
+    private List<String> scanAndFilter(UUID typeId) {
+        return typeAttributeRepository.findAll().stream()
+                .filter(typeAttribute -> typeAttribute.getId().getTypeId().equals(typeId))
+                .map(typeAttribute -> attributeRepository.findById(typeAttribute.getId().getAttributeId())
+                        .orElseThrow().getName())
+                .toList();
+    }
+
+    private UUID probeType() {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT t.id FROM Type t ORDER BY t.name", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult();
+    }
+
+    private void growTo(long rows) {
+        if (attributes.isEmpty()) {
+            for (int i = 0; i < ATTRIBUTES_PER_TYPE; i++) {
+                attributes.add(entityManager.persist(Attribute.builder()
+                        .name("attribute-" + i).dataType(AttributeDataType.STRING).build()));
+            }
+        }
+        while ((long) types * ATTRIBUTES_PER_TYPE < rows) {
+            Type type = entityManager.persist(Type.builder().name(String.format("type-%08d", types++)).build());
+            for (Attribute attribute : attributes) {
+                entityManager.persist(TypeAttribute.builder()
+                        .id(new TypeAttribute.TypeAttributeId(type.getId(), attribute.getId()))
+                        .type(type).attribute(entityManager.getEntityManager().getReference(Attribute.class,
+                                attribute.getId()))
+                        .isRequired(false).isUnique(false).build());
+            }
+            if (types % 100 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
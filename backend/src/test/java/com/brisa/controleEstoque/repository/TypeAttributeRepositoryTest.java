@@ -0,0 +1,61 @@
+package com.brisa.controleEstoque.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.StatementCounter;
+
+@JpaStatementTest
+class TypeAttributeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TypeAttributeRepository repository;
+
+    private StatementCounter statements;
+    private Type type;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManager.getEntityManager());
+        type = entityManager.persist(Type.builder().name("Notebook").build());
+        Type other = entityManager.persist(Type.builder().name("Monitor").build());
+        for (int i = 0; i < 5; i++) {
+            Attribute attribute = entityManager.persist(Attribute.builder()
+                    .name("attribute-" + i).dataType(AttributeDataType.STRING).build());
+            entityManager.persist(TypeAttribute.builder()
+                    .id(new TypeAttribute.TypeAttributeId(type.getId(), attribute.getId()))
+                    .type(type).attribute(attribute).isRequired(false).isUnique(false).build());
+        }
+        Attribute unrelated = entityManager.persist(Attribute.builder()
+                .name("unrelated").dataType(AttributeDataType.STRING).build());
+        entityManager.persist(TypeAttribute.builder()
+                .id(new TypeAttribute.TypeAttributeId(other.getId(), unrelated.getId()))
+                .type(other).attribute(unrelated).isRequired(false).isUnique(false).build());
+    }
+
+    @Test
+    void findByTypeIdWithAttributeLoadsAttributesInOneStatement() {
+        List<String> names = new ArrayList<>();
+        long count = statements.count(() -> repository.findByTypeIdWithAttribute(type.getId())
+                .forEach(typeAttribute -> names.add(typeAttribute.getAttribute().getName())));
+
+        assertThat(count).isEqualTo(1);
+        assertThat(names).containsExactlyInAnyOrder("attribute-0", "attribute-1", "attribute-2", "attribute-3",
+                "attribute-4");
+    }
+}
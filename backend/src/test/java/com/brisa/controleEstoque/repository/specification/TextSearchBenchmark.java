@@ -0,0 +1,107 @@
+package com.brisa.controleEstoque.repository.specification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.support.Bench;
+import com.brisa.controleEstoque.support.PostgresBench;
+
+/**
+ * Substring search latency against table size on PostgreSQL: the plain
+ * {@code lower(col) LIKE} scan against the {@link TextSearch} query on a
+ * pg_trgm GIN expression index, ranked by similarity as the API ranks it.
+ * Rows go to a scratch schema that is dropped afterwards, and the terms
+ * span a frequent word, an accent-folded one and a rare serial.
+ * <pre>mvn test -Dtest=TextSearchBenchmark -Dbench.rows=10000,1000000,10000000 -Dbench.iterations=20</pre>
+ */
+class TextSearchBenchmark {
+
+    private static final String TABLE = "bench_search.product";
+    private static final List<String> TERMS = List.of("cadeira", "acao", "0424242");
+
+    // The same objects PostgresSchemaInitializer creates for the application tables
+    private static final List<String> SETUP = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE EXTENSION IF NOT EXISTS unaccent",
+            "CREATE OR REPLACE FUNCTION " + TextSearch.SEARCH_FUNCTION + "(text) RETURNS text AS "
+                    + "$$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, $1)) $$ "
+                    + "LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT",
+            "DROP SCHEMA IF EXISTS bench_search CASCADE",
+            "CREATE SCHEMA bench_search",
+            "CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY DEFAULT gen_random_uuid(), name text NOT NULL)");
+
+    @Test
+    void latencyAgainstTableSize() throws Exception {
+        int iterations = Bench.intProperty("bench.iterations", 20);
+        try (Connection connection = PostgresBench.connect()) {
+            execute(connection, SETUP);
+            try {
+                long rows = 0;
+                for (long size : Bench.sizes("bench.rows", "10000,1000000,10000000")) {
+                    execute(connection, List.of("DROP INDEX IF EXISTS bench_search.idx_product_name_trgm"));
+                    populate(connection, rows, size);
+                    rows = size;
+                    execute(connection, List.of(
+                            "CREATE INDEX idx_product_name_trgm ON " + TABLE + " USING gin ("
+                                    + TextSearch.SEARCH_FUNCTION + "(name) gin_trgm_ops)",
+                            "ANALYZE " + TABLE));
+                    for (String term : TERMS) {
+                        measure(connection, "like '" + term + "', " + size + " rows", iterations,
+                                "SELECT id, name FROM " + TABLE + " WHERE lower(name) LIKE ? LIMIT 20",
+                                "%" + term + "%");
+                        measure(connection, "trigram '" + term + "', " + size + " rows", iterations,
+                                "SELECT id, name FROM " + TABLE + " WHERE " + TextSearch.SEARCH_FUNCTION
+                                        + "(name) LIKE ? ORDER BY similarity(" + TextSearch.SEARCH_FUNCTION
+                                        + "(name), ?) DESC, id LIMIT 20",
+                                "%" + TextSearch.fold(term) + "%", TextSearch.fold(term));
+                    }
+                }
+            } finally {
+                if (!Boolean.getBoolean("bench.keep")) {
+                    execute(connection, List.of("DROP SCHEMA IF EXISTS bench_search CASCADE"));
+                }
+            }
+        }
+    }
+
+    // Portuguese product names with accents, every one carrying a seven-digit serial
+    private static void populate(Connection connection, long from, long to) throws SQLException {
+        execute(connection, List.of("INSERT INTO " + TABLE + " (name) "
+                + "SELECT (ARRAY['Cadeira','Mesa','Cabo','Parafuso','Monitor','Teclado','Caixa','Notebook'])[g % 8 + 1]"
+                + " || ' ' || (ARRAY['de aço','elétrico','pequeno','médio','com ação rápida','de madeira'])[g / 8 % 6 + 1]"
+                + " || ' ' || lpad(g::text, 7, '0') "
+                + "FROM generate_series(" + (from + 1) + ", " + to + ") AS g"));
+    }
+
+    private static void measure(Connection connection, String name, int iterations, String sql, String... parameters)
+            throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            Bench.measure(name, Math.max(1, iterations / 5), iterations, () -> {
+                int found = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+        }
+    }
+
+    private static void execute(Connection connection, List<String> statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
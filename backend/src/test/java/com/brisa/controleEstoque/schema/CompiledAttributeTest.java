@@ -0,0 +1,136 @@
+package com.brisa.controleEstoque.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.TypeAttribute.TypeAttributeId;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+
+class CompiledAttributeTest {
+
+    private static final UUID TYPE_ID = UUID.randomUUID();
+
+    @Test
+    void checksValuesByDataType() {
+        assertThat(compile(AttributeDataType.NUMBER, null).check("12.5")).isNull();
+        assertThat(compile(AttributeDataType.NUMBER, null).check("twelve")).isEqualTo("must be a number");
+        assertThat(compile(AttributeDataType.NUMBER, null).check("1e999")).isEqualTo("must be a number");
+        assertThat(compile(AttributeDataType.BOOLEAN, null).check("True")).isNull();
+        assertThat(compile(AttributeDataType.BOOLEAN, null).check("1")).isEqualTo("must be true or false");
+        assertThat(compile(AttributeDataType.DATE, null).check("2024-02-29")).isNull();
+        assertThat(compile(AttributeDataType.DATE, null).check("2023-02-29")).isEqualTo("must be a date (yyyy-MM-dd)");
+        assertThat(compile(AttributeDataType.JSON, null).check("{not json")).isNull();
+    }
+
+    @Test
+    void blankValuesAreLeftToTheRequiredCheck() {
+        CompiledAttribute number = compile(AttributeDataType.NUMBER, null);
+        assertThat(number.check(null)).isNull();
+        assertThat(number.check("  ")).isNull();
+    }
+
+    @Test
+    void selectAcceptsOnlyDefinedOptions() {
+        CompiledAttribute select = compile(AttributeDataType.SELECT, "red, green ,blue");
+        assertThat(select.getOptions()).containsExactlyInAnyOrder("red", "green", "blue");
+        assertThat(select.check("green")).isNull();
+        assertThat(select.check("purple")).isEqualTo("must be one of the defined options");
+        assertThat(compile(AttributeDataType.SELECT, null).check("anything")).isNull();
+    }
+
+    @Test
+    void stringsAreLimitedToTheColumnLength() {
+        CompiledAttribute string = compile(AttributeDataType.STRING, null);
+        assertThat(string.check("x".repeat(CompiledAttribute.MAX_TEXT_LENGTH))).isNull();
+        assertThat(string.check("x".repeat(CompiledAttribute.MAX_TEXT_LENGTH + 1)))
+                .isEqualTo("must be at most " + CompiledAttribute.MAX_TEXT_LENGTH + " characters");
+    }
+
+    @Test
+    void parsesToTheJavaTypeOfTheValueField() {
+        assertThat(compile(AttributeDataType.NUMBER, null).parse("2.5")).isEqualTo(2.5);
+        assertThat(compile(AttributeDataType.NUMBER, null).parse("1e999")).isNull();
+        assertThat(compile(AttributeDataType.DATE, null).parse("2024-05-01")).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(compile(AttributeDataType.BOOLEAN, null).parse("false")).isEqualTo(false);
+        assertThat(compile(AttributeDataType.STRING, null).parse("abc")).isEqualTo("abc");
+        assertThat(compile(AttributeDataType.NUMBER, null).getValueField()).isEqualTo("valueNumber");
+        assertThat(compile(AttributeDataType.SELECT, null).getValueField()).isEqualTo("valueText");
+    }
+
+    @Test
+    void assignWritesOneColumnAndClearsTheOthers() {
+        ItemAttribute target = new ItemAttribute();
+        target.setValueText("stale");
+        target.setValueBoolean(true);
+
+        compile(AttributeDataType.NUMBER, null).assign(target, "7");
+
+        assertThat(target.getValueNumber()).isEqualTo(7.0);
+        assertThat(target.getValueText()).isNull();
+        assertThat(target.getValueBoolean()).isNull();
+        assertThat(target.getUniqueScope()).isNull();
+        assertThat(target.getValueKey()).isNull();
+    }
+
+    @Test
+    void uniqueValuesGetTheTypeAsScopeAndACanonicalKey() {
+        CompiledAttribute serial = CompiledAttribute.of(typeAttribute(AttributeDataType.NUMBER, null, true));
+        ItemAttribute target = new ItemAttribute();
+
+        serial.assign(target, "1.0e0");
+
+        assertThat(target.getUniqueScope()).isEqualTo(TYPE_ID);
+        assertThat(target.getValueKey()).isEqualTo("1");
+    }
+
+    @Test
+    void equalNumbersShareAUniqueKey() {
+        assertThat(CompiledAttribute.uniqueKey(1.0)).isEqualTo("1");
+        assertThat(CompiledAttribute.uniqueKey(Double.valueOf("1e0"))).isEqualTo("1");
+        assertThat(CompiledAttribute.uniqueKey(150.0)).isEqualTo("150");
+        assertThat(CompiledAttribute.uniqueKey(0.25)).isEqualTo("0.25");
+        assertThat(CompiledAttribute.uniqueKey("SN-1")).isEqualTo("SN-1");
+        assertThat(CompiledAttribute.uniqueKey(null)).isNull();
+    }
+
+    @Test
+    void anUnlinkedAttributeHasNoUniqueScope() {
+        CompiledAttribute unlinked = CompiledAttribute.of(attribute(AttributeDataType.STRING, null));
+        ItemAttribute target = new ItemAttribute();
+
+        unlinked.assign(target, "value");
+
+        assertThat(unlinked.getTypeId()).isNull();
+        assertThat(target.getUniqueScope()).isNull();
+    }
+
+    private static CompiledAttribute compile(AttributeDataType dataType, String options) {
+        return CompiledAttribute.of(typeAttribute(dataType, options, false));
+    }
+
+    private static TypeAttribute typeAttribute(AttributeDataType dataType, String options, boolean unique) {
+        Attribute attribute = attribute(dataType, options);
+        return TypeAttribute.builder()
+                .id(new TypeAttributeId(TYPE_ID, attribute.getId()))
+                .attribute(attribute)
+                .isRequired(false)
+                .isUnique(unique)
+                .build();
+    }
+
+    private static Attribute attribute(AttributeDataType dataType, String options) {
+        return Attribute.builder()
+                .id(UUID.randomUUID())
+                .name(dataType.name().toLowerCase())
+                .dataType(dataType)
+                .options(options)
+                .build();
+    }
+}
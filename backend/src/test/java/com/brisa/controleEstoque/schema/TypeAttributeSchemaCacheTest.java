@@ -0,0 +1,68 @@
+package com.brisa.controleEstoque.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.brisa.controleEstoque.datasource.PrimaryReads;
+import com.brisa.controleEstoque.repository.TypeAttributeRepository;
+
+class TypeAttributeSchemaCacheTest {
+
+    private final TypeAttributeRepository repository = mock(TypeAttributeRepository.class);
+    private final PrimaryReads primaryReads = mock(PrimaryReads.class);
+    private final TypeAttributeSchemaCache cache = new TypeAttributeSchemaCache(repository, primaryReads);
+    private final UUID typeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(primaryReads.call(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @Test
+    void compilesOnceUntilEvicted() {
+        when(repository.findByTypeIdWithAttribute(typeId)).thenReturn(List.of());
+
+        TypeAttributeSchema first = cache.get(typeId);
+        assertThat(cache.get(typeId)).isSameAs(first);
+        cache.evict(typeId);
+        assertThat(cache.get(typeId)).isNotSameAs(first);
+
+        verify(repository, times(2)).findByTypeIdWithAttribute(typeId);
+    }
+
+    @Test
+    void linksAreReadOnThePrimary() {
+        when(repository.findByTypeIdWithAttribute(typeId)).thenReturn(List.of());
+
+        cache.get(typeId);
+
+        verify(primaryReads).call(any());
+    }
+
+    @Test
+    void aCompileOverlappingAnEvictionIsNotCached() {
+        // The links change and the type is evicted while the miss is still reading them
+        when(repository.findByTypeIdWithAttribute(typeId)).thenAnswer(invocation -> {
+            cache.evict(typeId);
+            return List.of();
+        }).thenReturn(List.of());
+
+        TypeAttributeSchema stale = cache.get(typeId);
+        TypeAttributeSchema fresh = cache.get(typeId);
+
+        assertThat(fresh).isNotSameAs(stale);
+        assertThat(cache.get(typeId)).isSameAs(fresh);
+        verify(repository, times(2)).findByTypeIdWithAttribute(typeId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.brisa.controleEstoque.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ValueParsersTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "42", "-7", "+3", "3.14", ".5", "5.", "1e3", "1E-3", "-2.5e+10", "1e308"})
+    void acceptsNumbers(String value) {
+        assertThat(ValueParsers.isNumber(value)).isTrue();
+        assertThat(ValueParsers.parseNumber(value)).isEqualTo(Double.parseDouble(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", ".", "1.2.3", "1e", "1e+", "e5", "1,5", " 1", "1 ", "abc", "0x10", "NaN",
+            "Infinity", "-Infinity"})
+    void rejectsMalformedNumbers(String value) {
+        assertThat(ValueParsers.isNumber(value)).isFalse();
+        assertThat(ValueParsers.parseNumber(value)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1e999", "-1e999", "1e309", "2e308"})
+    void rejectsNumbersOutsideTheRangeOfADouble(String value) {
+        assertThat(ValueParsers.isNumber(value)).isFalse();
+        assertThat(ValueParsers.parseNumber(value)).isNull();
+    }
+
+    @Test
+    void underflowingNumbersReadAsZero() {
+        assertThat(ValueParsers.isNumber("1e-999")).isTrue();
+        assertThat(ValueParsers.parseNumber("1e-999")).isEqualTo(0.0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-01-31", "2024-02-29", "2000-02-29", "2023-04-30", "0001-01-01"})
+    void acceptsDates(String value) {
+        assertThat(ValueParsers.isDate(value)).isTrue();
+        assertThat(ValueParsers.parseDate(value)).isEqualTo(LocalDate.parse(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2024-1-31", "2024/01/31", "2023-02-29", "1900-02-29", "2024-04-31", "2024-13-01",
+            "2024-00-10", "2024-01-00", "20a4-01-01", "2024-01-011"})
+    void rejectsInvalidDates(String value) {
+        assertThat(ValueParsers.isDate(value)).isFalse();
+        assertThat(ValueParsers.parseDate(value)).isNull();
+    }
+
+    @Test
+    void parsesBooleansIgnoringCase() {
+        assertThat(ValueParsers.parseBoolean("true")).isTrue();
+        assertThat(ValueParsers.parseBoolean("FALSE")).isFalse();
+        assertThat(ValueParsers.parseBoolean("yes")).isNull();
+        assertThat(ValueParsers.isBoolean("1")).isFalse();
+    }
+}
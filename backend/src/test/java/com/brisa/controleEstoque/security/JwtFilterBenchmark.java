@@ -0,0 +1,147 @@
+package com.brisa.controleEstoque.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.brisa.controleEstoque.entity.User;
+import com.brisa.controleEstoque.entity.enums.Role;
+import com.brisa.controleEstoque.service.CustomUserDetailsService;
+import com.brisa.controleEstoque.support.Bench;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Authentication filter cost per request: the filter as it stands, which
+ * verifies the token once with a key and parser built at startup, against
+ * the earlier filter, which re-derived the key and re-verified the token
+ * for every check. User lookups are stubbed on both sides, so only the
+ * token handling differs.
+ * <pre>mvn test -Dtest=JwtFilterBenchmark -Dbench.iterations=200000</pre>
+ */
+class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-at-least-256-bits-long-for-hmac-sha";
+
+    private final User user = User.builder()
+            .id(UUID.randomUUID()).email("ana@example.com").displayName("Ana").role(Role.USER).build();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filterCostPerRequest() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", Duration.ofHours(1).toMillis());
+        jwtUtil.init();
+        String token = jwtUtil.generateToken(AuthenticatedUser.of(user));
+
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        given(userDetailsService.loadUserByEmail(anyString())).willReturn(user);
+        given(userDetailsService.loadUserByUsername(anyString())).willReturn(AuthenticatedUser.of(user));
+        PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, principalCache);
+        LegacyFilter legacy = new LegacyFilter(userDetailsService);
+
+        int iterations = Bench.intProperty("bench.iterations", 50_000);
+        Bench.Result before = Bench.measure("earlier filter (re-verifying)", iterations / 5, iterations, () -> {
+            Authentication authentication = legacy.authenticate(request(token));
+            SecurityContextHolder.clearContext();
+            return authentication;
+        });
+        Bench.Result after = Bench.measure("filter (verified once)", iterations / 5, iterations, () -> {
+            filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            SecurityContextHolder.clearContext();
+            return authentication;
+        });
+        System.out.printf("speed-up: %.1fx%n", before.meanNanos() / after.meanNanos());
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    /**
+     * The earlier filter and JwtUtil as one class: the key and parser are built
+     * on every parse and the token is parsed five times per request.
+     */
+    private static class LegacyFilter {
+
+        private final CustomUserDetailsService userDetailsService;
+
+        LegacyFilter(CustomUserDetailsService userDetailsService) {
+            this.userDetailsService = userDetailsService;
+        }
+
+        Authentication authenticate(MockHttpServletRequest request) {
+            String jwt = request.getHeader("Authorization").substring(7);
+            if (validateToken(jwt)) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(extractUsername(jwt));
+                if (validateToken(jwt, userDetails)) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    return authentication;
+                }
+            }
+            return null;
+        }
+
+        private SecretKey signingKey() {
+            return Keys.hmacShaKeyFor(SECRET.getBytes());
+        }
+
+        private Claims claims(String token) {
+            return Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload();
+        }
+
+        private String extractUsername(String token) {
+            return claims(token).getSubject();
+        }
+
+        private boolean isTokenExpired(String token) {
+            return claims(token).getExpiration().before(new Date());
+        }
+
+        private boolean validateToken(String token, UserDetails userDetails) {
+            return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        }
+
+        private boolean validateToken(String token) {
+            claims(token);
+            return !isTokenExpired(token);
+        }
+    }
+}
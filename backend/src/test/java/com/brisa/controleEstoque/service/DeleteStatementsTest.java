@@ -0,0 +1,177 @@
+package com.brisa.controleEstoque.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.brisa.controleEstoque.common.MergePatch;
+import com.brisa.controleEstoque.entity.Attribute;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.ItemAttribute;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.entity.TypeAttribute;
+import com.brisa.controleEstoque.entity.enums.AttributeDataType;
+import com.brisa.controleEstoque.exceptions.ResourceNotFoundException;
+import com.brisa.controleEstoque.datasource.PrimaryReads;
+import com.brisa.controleEstoque.facet.FacetIndex;
+import com.brisa.controleEstoque.mapper.AttributeMapper;
+import com.brisa.controleEstoque.mapper.LocationMapper;
+import com.brisa.controleEstoque.mapper.LotMapper;
+import com.brisa.controleEstoque.mapper.ProductMapper;
+import com.brisa.controleEstoque.mapper.TypeAttributeMapper;
+import com.brisa.controleEstoque.mapper.TypeMapper;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.SimpleMetrics;
+import com.brisa.controleEstoque.support.StatementCounter;
+
+/**
+ * Statements issued by each delete endpoint's service method. Collaborators
+ * that reach the database are real; mappers and the patch reader are not
+ * used by deletes and are mocked.
+ */
+@JpaStatementTest
+@Import({ TypeService.class, ProductService.class, LotService.class, LocationService.class, ItemService.class,
+        AttributeService.class, TypeAttributeService.class, SchemaChangeJobService.class, StockLevelService.class,
+        UniqueAttributeService.class, FacetService.class, FacetIndex.class, AttributeCatalog.class,
+        TypeAttributeSchemaCache.class, TupleProjectionRepository.class, PageTotals.class, PatchRepository.class,
+        TextSearch.class, PrimaryReads.class, SimpleMetrics.class })
+class DeleteStatementsTest {
+
+    @MockBean
+    private TypeMapper typeMapper;
+    @MockBean
+    private ProductMapper productMapper;
+    @MockBean
+    private LotMapper lotMapper;
+    @MockBean
+    private LocationMapper locationMapper;
+    @MockBean
+    private AttributeMapper attributeMapper;
+    @MockBean
+    private TypeAttributeMapper typeAttributeMapper;
+    @MockBean
+    private MergePatch mergePatch;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TypeService typeService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private LotService lotService;
+    @Autowired
+    private LocationService locationService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private AttributeService attributeService;
+    @Autowired
+    private TypeAttributeService typeAttributeService;
+
+    private StatementCounter statements;
+    private Type type;
+    private Product product;
+    private Lot lot;
+    private Location location;
+    private Attribute attribute;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManager.getEntityManager());
+        type = entityManager.persist(Type.builder().name("Notebook").build());
+        product = entityManager.persist(Product.builder().name("X1").type(type).build());
+        lot = entityManager.persist(Lot.builder().lotNumber("L-1").product(product).build());
+        location = entityManager.persist(Location.builder().name("Shelf A").isActive(true).build());
+        attribute = entityManager.persist(Attribute.builder().name("color").dataType(AttributeDataType.STRING).build());
+    }
+
+    @Test
+    void deleteTypeChecksProductsThenDeletesAssociationsAndType() {
+        Type empty = entityManager.persist(Type.builder().name("Monitor").build());
+        entityManager.persist(TypeAttribute.builder()
+                .id(new TypeAttribute.TypeAttributeId(empty.getId(), attribute.getId()))
+                .type(empty).attribute(attribute).isRequired(false).isUnique(false).build());
+
+        assertThat(statements.count(() -> typeService.delete(empty.getId()))).isEqualTo(3);
+        assertThat(entityManager.find(Type.class, empty.getId())).isNull();
+    }
+
+    @Test
+    void deleteProductIsOneStatement() {
+        Product unused = entityManager.persist(Product.builder().name("X2").type(type).build());
+
+        assertThat(statements.count(() -> productService.delete(unused.getId()))).isEqualTo(1);
+        assertThat(entityManager.find(Product.class, unused.getId())).isNull();
+    }
+
+    @Test
+    void deleteOfAnUnknownProductIsOneStatement() {
+        UUID unknown = UUID.randomUUID();
+
+        assertThat(statements.count(() -> assertThatThrownBy(() -> productService.delete(unknown))
+                .isInstanceOf(ResourceNotFoundException.class))).isEqualTo(1);
+    }
+
+    @Test
+    void deleteLotRemovesItsStockLevelThenTheLot() {
+        assertThat(statements.count(() -> lotService.delete(lot.getId()))).isEqualTo(2);
+        assertThat(entityManager.find(Lot.class, lot.getId())).isNull();
+    }
+
+    @Test
+    void deleteLocationRemovesItsStockLevelThenTheLocation() {
+        assertThat(statements.count(() -> locationService.delete(location.getId()))).isEqualTo(2);
+        assertThat(entityManager.find(Location.class, location.getId())).isNull();
+    }
+
+    @Test
+    void deleteItemReadsItsTypeThenDeletesValuesAndItem() {
+        Item item = entityManager.persist(Item.builder()
+                .product(product).lot(lot).location(location).serialNumber("SN-1").build());
+        entityManager.persist(ItemAttribute.builder().item(item).attribute(attribute).valueText("red").build());
+
+        assertThat(statements.count(() -> itemService.delete(item.getId()))).isEqualTo(3);
+        assertThat(entityManager.find(Item.class, item.getId())).isNull();
+    }
+
+    @Test
+    void removeAttributeFromTypeDeletesTheItemsValuesThenTheAssociation() {
+        TypeAttribute.TypeAttributeId id = new TypeAttribute.TypeAttributeId(type.getId(), attribute.getId());
+        entityManager.persist(TypeAttribute.builder()
+                .id(id).type(type).attribute(attribute).isRequired(false).isUnique(false).build());
+        Item item = entityManager.persist(Item.builder()
+                .product(product).lot(lot).location(location).serialNumber("SN-1").build());
+        ItemAttribute value = entityManager.persist(
+                ItemAttribute.builder().item(item).attribute(attribute).valueText("red").build());
+
+        long count = statements.count(() -> typeAttributeService.removeAttributeFromType(type.getId(),
+                attribute.getId()));
+
+        assertThat(count).isEqualTo(3);
+        assertThat(entityManager.find(TypeAttribute.class, id)).isNull();
+        assertThat(entityManager.find(ItemAttribute.class, value.getId())).isNull();
+    }
+
+    @Test
+    void deleteAttributeChecksTypesThenDeletes() {
+        assertThat(statements.count(() -> attributeService.delete(attribute.getId()))).isEqualTo(2);
+        assertThat(entityManager.find(Attribute.class, attribute.getId())).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package com.brisa.controleEstoque.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.brisa.controleEstoque.common.MergePatch;
+import com.brisa.controleEstoque.dto.requests.RequestLotDTO;
+import com.brisa.controleEstoque.entity.Item;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.mapper.LotMapper;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.SimpleMetrics;
+
+@JpaStatementTest
+@Import({ LotService.class, StockLevelService.class, TupleProjectionRepository.class, PageTotals.class,
+        PatchRepository.class, TextSearch.class, SimpleMetrics.class })
+class LotServiceTest {
+
+    @MockBean
+    private LotMapper lotMapper;
+    @MockBean
+    private MergePatch mergePatch;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private LotService lotService;
+
+    private Product product;
+    private Product other;
+    private Lot lot;
+
+    @BeforeEach
+    void setUp() {
+        Type type = entityManager.persist(Type.builder().name("Notebook").build());
+        product = entityManager.persist(Product.builder().name("X1").type(type).build());
+        other = entityManager.persist(Product.builder().name("X2").type(type).build());
+        lot = entityManager.persist(Lot.builder().lotNumber("L-1").product(product).build());
+    }
+
+    @Test
+    void aLotWithItemsKeepsItsProduct() {
+        Location shelf = entityManager.persist(Location.builder().name("Shelf").isActive(true).build());
+        entityManager.persist(Item.builder().product(product).lot(lot).location(shelf).serialNumber("SN-1").build());
+
+        assertThatThrownBy(() -> lotService.update(lot.getId(), moveTo(other)))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessage("Cannot move a lot that has items to another product");
+    }
+
+    @Test
+    void anEmptyLotMovesToAnotherProduct() {
+        Lot moved = lotService.update(lot.getId(), moveTo(other));
+
+        assertThat(moved.getProduct().getId()).isEqualTo(other.getId());
+    }
+
+    private static RequestLotDTO moveTo(Product product) {
+        RequestLotDTO dto = new RequestLotDTO();
+        dto.setLotNumber("L-1");
+        dto.setProductId(product.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.brisa.controleEstoque.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import com.brisa.controleEstoque.entity.enums.StockScope;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+
+@JpaStatementTest
+@Import(StockLevelService.class)
+class StockLevelServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private StockLevelService service;
+
+    private Product product;
+    private Lot lotA;
+    private Lot lotB;
+    private Location shelf;
+    private Location dock;
+    private Location yard;
+
+    @BeforeEach
+    void setUp() {
+        Type type = entityManager.persist(Type.builder().name("Notebook").build());
+        product = entityManager.persist(Product.builder().name("X1").type(type).build());
+        lotA = entityManager.persist(Lot.builder().lotNumber("L-A").product(product).build());
+        lotB = entityManager.persist(Lot.builder().lotNumber("L-B").product(product).build());
+        shelf = entityManager.persist(Location.builder().name("Shelf").isActive(true).build());
+        dock = entityManager.persist(Location.builder().name("Dock").isActive(true).build());
+        yard = entityManager.persist(Location.builder().name("Yard").isActive(true).build());
+        service.apply(List.of(movement(MovementType.RECEIPT, lotA, shelf, 10)));
+        service.apply(List.of(movement(MovementType.RECEIPT, lotB, dock, 10)));
+    }
+
+    @Test
+    void aTransferIsCheckedAgainstTheLotAtItsSource() {
+        // The dock holds ten, all of them from the other lot
+        assertThatThrownBy(() -> service.apply(List.of(
+                movement(MovementType.TRANSFER, lotA, dock, -5),
+                movement(MovementType.TRANSFER, lotA, yard, 5))))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("Not enough stock of lot " + lotA.getId());
+    }
+
+    @Test
+    void anIssueIsCheckedAgainstTheLotAtTheLocation() {
+        assertThatThrownBy(() -> service.apply(List.of(movement(MovementType.ISSUE, lotB, shelf, -1))))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessageContaining("at location " + shelf.getId());
+    }
+
+    @Test
+    void aTransferWithinTheLotsStockMovesItsBalance() {
+        service.apply(List.of(
+                movement(MovementType.TRANSFER, lotA, shelf, -4),
+                movement(MovementType.TRANSFER, lotA, yard, 4)));
+        service.apply(List.of(movement(MovementType.ISSUE, lotA, yard, -4)));
+
+        entityManager.clear();
+        assertThat(service.findLevel(StockScope.LOT, lotA.getId()).getOnHand()).isEqualTo(6);
+    }
+
+    @Test
+    void theProductRowFollowsItsLots() {
+        service.apply(List.of(movement(MovementType.ISSUE, lotA, shelf, -3)));
+        service.reserve(lotB.getId(), 2L);
+
+        entityManager.clear();
+        var level = service.findLevel(StockScope.PRODUCT, product.getId());
+        assertThat(level.getOnHand()).isEqualTo(17);
+        assertThat(level.getReserved()).isEqualTo(2);
+        assertThat(service.lastModified(StockScope.PRODUCT)).isNotNull();
+    }
+
+    @Test
+    void transfersLeaveTheProductTotalAlone() {
+        service.apply(List.of(
+                movement(MovementType.TRANSFER, lotA, shelf, -4),
+                movement(MovementType.TRANSFER, lotA, yard, 4)));
+
+        entityManager.clear();
+        assertThat(service.findLevel(StockScope.PRODUCT, product.getId()).getOnHand()).isEqualTo(20);
+    }
+
+    private InventoryMovement movement(MovementType type, Lot lot, Location location, long quantity) {
+        return InventoryMovement.builder()
+                .movementType(type).product(product).lot(lot).location(location).quantity(quantity).build();
+    }
+}
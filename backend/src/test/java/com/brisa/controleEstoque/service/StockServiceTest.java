@@ -0,0 +1,107 @@
+package com.brisa.controleEstoque.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.brisa.controleEstoque.dto.responses.ResponseStockDTO;
+import com.brisa.controleEstoque.entity.InventoryMovement;
+import com.brisa.controleEstoque.entity.Location;
+import com.brisa.controleEstoque.entity.Lot;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.entity.enums.MovementType;
+import com.brisa.controleEstoque.repository.InventoryMovementRepository;
+import com.brisa.controleEstoque.repository.StockSnapshotRepository;
+import com.brisa.controleEstoque.repository.StockSnapshotRunRepository;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+
+@JpaStatementTest
+class StockServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+    @Autowired
+    private StockSnapshotRunRepository runRepository;
+
+    private StockService service;
+    private Product product;
+    private Lot lot;
+    private Location shelf;
+
+    @BeforeEach
+    void setUp() {
+        // No grace: every movement already flushed counts as committed
+        service = new StockService(movementRepository, snapshotRepository, runRepository, Duration.ofMinutes(10),
+                Duration.ZERO);
+        Type type = entityManager.persist(Type.builder().name("Notebook").build());
+        product = entityManager.persist(Product.builder().name("X1").type(type).build());
+        lot = entityManager.persist(Lot.builder().lotNumber("L-1").product(product).build());
+        shelf = entityManager.persist(Location.builder().name("Shelf").isActive(true).build());
+    }
+
+    @Test
+    void aRunFoldsTheLedgerUpToItsWatermark() {
+        movement(10);
+        movement(-3);
+
+        service.snapshot();
+
+        assertThat(runRepository.findFirstByOrderByIdDesc()).hasValueSatisfying(run -> assertThat(run.getId()).isEqualTo(1));
+        assertThat(snapshotRepository.findAll()).singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.getQuantity()).isEqualTo(7));
+        assertThat(quantities()).containsExactly(7L);
+    }
+
+    @Test
+    void movementsAfterTheWatermarkAreReadFromTheTail() {
+        movement(10);
+        service.snapshot();
+
+        movement(-4);
+
+        assertThat(quantities()).containsExactly(6L);
+    }
+
+    @Test
+    void theNextRunStartsFromThePreviousBalance() {
+        movement(10);
+        service.snapshot();
+        movement(-4);
+
+        service.snapshot();
+
+        assertThat(runRepository.findFirstByOrderByIdDesc()).hasValueSatisfying(run -> assertThat(run.getId()).isEqualTo(2));
+        assertThat(snapshotRepository.findLatest(null, lot.getId(), shelf.getId(), 2)).singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.getQuantity()).isEqualTo(6));
+        assertThat(quantities()).containsExactly(6L);
+    }
+
+    @Test
+    void aRunWithNothingToFoldRecordsNothing() {
+        service.snapshot();
+
+        assertThat(runRepository.count()).isZero();
+    }
+
+    private List<Long> quantities() {
+        entityManager.clear();
+        return service.findStock(null, lot.getId(), null).stream().map(ResponseStockDTO::getQuantity).toList();
+    }
+
+    private void movement(long quantity) {
+        entityManager.persistAndFlush(InventoryMovement.builder()
+                .movementType(quantity > 0 ? MovementType.RECEIPT : MovementType.ISSUE)
+                .product(product).lot(lot).location(shelf).quantity(quantity).build());
+    }
+}
@@ -0,0 +1,56 @@
+package com.brisa.controleEstoque.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.brisa.controleEstoque.common.MergePatch;
+import com.brisa.controleEstoque.datasource.PrimaryReads;
+import com.brisa.controleEstoque.entity.Product;
+import com.brisa.controleEstoque.entity.Type;
+import com.brisa.controleEstoque.exceptions.ResourceBadRequestException;
+import com.brisa.controleEstoque.mapper.TypeMapper;
+import com.brisa.controleEstoque.repository.PageTotals;
+import com.brisa.controleEstoque.repository.PatchRepository;
+import com.brisa.controleEstoque.repository.ProductRepository;
+import com.brisa.controleEstoque.repository.TupleProjectionRepository;
+import com.brisa.controleEstoque.repository.specification.TextSearch;
+import com.brisa.controleEstoque.schema.TypeAttributeSchemaCache;
+import com.brisa.controleEstoque.support.JpaStatementTest;
+import com.brisa.controleEstoque.support.SimpleMetrics;
+
+@JpaStatementTest
+@Import({ TypeService.class, TypeAttributeSchemaCache.class, TupleProjectionRepository.class, PageTotals.class,
+        PatchRepository.class, TextSearch.class, PrimaryReads.class, SimpleMetrics.class })
+class TypeServiceTest {
+
+    @MockBean
+    private TypeMapper typeMapper;
+    @MockBean
+    private MergePatch mergePatch;
+    @MockBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TypeService typeService;
+
+    @Test
+    void aProductCreatedAfterTheCheckStillBlocksTheDelete() {
+        Type type = entityManager.persist(Type.builder().name("Notebook").build());
+        entityManager.persistAndFlush(Product.builder().name("X1").type(type).build());
+        // The check ran before the product committed
+        given(productRepository.existsByTypeId(any())).willReturn(false);
+
+        assertThatThrownBy(() -> typeService.delete(type.getId()))
+                .isInstanceOf(ResourceBadRequestException.class)
+                .hasMessage("Cannot delete type: it is still referenced by one or more products.");
+    }
+}
@@ -0,0 +1,79 @@
+package com.brisa.controleEstoque.support;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Timing harness for the {@code *Benchmark} classes. Surefire's default
+ * includes do not match them, so they only run when asked for by name:
+ * <pre>mvn test -Dtest=JwtFilterBenchmark</pre>
+ * Every operation is timed on its own after a warm-up, and the run is
+ * printed as mean, p50 and p99.
+ */
+public final class Bench {
+
+    // Keeps the JIT from discarding results nobody reads
+    private static volatile Object sink;
+
+    private Bench() {
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    public record Result(String name, int operations, double meanNanos, long p50Nanos, long p99Nanos) {
+
+        public double opsPerSecond() {
+            return 1_000_000_000d / meanNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %10d ops  mean %10.1f us  p50 %10.1f us  p99 %10.1f us  %12.0f ops/s",
+                    name, operations, meanNanos / 1000, p50Nanos / 1000d, p99Nanos / 1000d, opsPerSecond());
+        }
+    }
+
+    public static Result measure(String name, int warmup, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            sink = operation.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            sink = operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Result result = summarize(name, samples);
+        System.out.println(result);
+        return result;
+    }
+
+    public static Result summarize(String name, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        return new Result(name, sorted.length, mean, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    /** Comma-separated sizes from a system property, e.g. {@code -Dbench.rows=10000,1000000}. */
+    public static List<Long> sizes(String property, String defaults) {
+        return Arrays.stream(System.getProperty(property, defaults).split(","))
+                .map(String::trim)
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    public static int intProperty(String property, int defaultValue) {
+        return Integer.parseInt(System.getProperty(property, Integer.toString(defaultValue)));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
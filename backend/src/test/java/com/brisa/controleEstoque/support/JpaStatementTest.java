@@ -0,0 +1,26 @@
+package com.brisa.controleEstoque.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * JPA slice on the embedded H2 database with Hibernate statistics on, for
+ * tests that pin how many statements a query or write issues.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+        // schema.sql is the PostgreSQL reference schema; the entities create the tables
+        "spring.sql.init.mode=never",
+        // Counted statements must reach the database, not the second-level cache
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=none",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public @interface JpaStatementTest {
+}
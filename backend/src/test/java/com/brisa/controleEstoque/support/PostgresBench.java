@@ -0,0 +1,30 @@
+package com.brisa.controleEstoque.support;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Connection for the benchmarks that only mean something on PostgreSQL.
+ * Defaults to the docker-compose database; override with
+ * {@code -Dbench.url}, {@code -Dbench.user} and {@code -Dbench.password}.
+ * A benchmark is skipped when the database cannot be reached.
+ */
+public final class PostgresBench {
+
+    private PostgresBench() {
+    }
+
+    public static Connection connect() {
+        String url = System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/controle_estoque");
+        try {
+            return DriverManager.getConnection(url, System.getProperty("bench.user", "postgres"),
+                    System.getProperty("bench.password", "postgres"));
+        } catch (SQLException e) {
+            assumeTrue(false, "PostgreSQL not reachable at " + url + ": " + e.getMessage());
+            throw new IllegalStateException(e);
+        }
+    }
+}
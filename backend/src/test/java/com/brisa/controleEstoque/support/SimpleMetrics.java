@@ -0,0 +1,17 @@
+package com.brisa.controleEstoque.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** In-memory meter registry for slices that import beans publishing cache metrics. */
+@TestConfiguration
+public class SimpleMetrics {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}